@@ -0,0 +1,131 @@
+package com.github.toy.constructor.core.api;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Caches values which are read during one attempt of a waiting function. Combined conditions often read the same
+ * property of the same object several times, e.g. visibility of an element is checked by some conditions and its text
+ * is compared to different values. Such values are read once per attempt when the cache is turned on by the property
+ * {@code 'waiting.attempt.cache'} (see {@link AttemptCacheProperties#ATTEMPT_CACHE}). Cached values are discarded
+ * before the next attempt, so the waiting sees changes of the object. Values are read as usual when the cache is
+ * turned off or when they are read out of the waiting.
+ */
+public final class AttemptCache {
+
+    private static final Object NULL = new Object();
+
+    /**
+     * The cache of the attempt which is made by the current thread.
+     */
+    private static final ThreadLocal<AttemptCache> CURRENT = new ThreadLocal<>();
+
+    private final Map<Key, Object> values = new ConcurrentHashMap<>();
+
+    AttemptCache() {
+        super();
+    }
+
+    /**
+     * Reads a property of the given object. The value is read once during an attempt of a waiting function
+     * when the cache is turned on.
+     *
+     * @param target is the object whose property is read. Objects are compared by identity.
+     * @param property is the name of the property. It should contain all arguments which are used to read the value,
+     *                 e.g. the name of an attribute.
+     * @param reading is the reading of the property value.
+     * @param <V> is the type of the value
+     * @return the value of the property.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> V read(Object target, String property, Supplier<V> reading) {
+        checkArgument(target != null, "Object whose property is read should be defined");
+        checkArgument(!isBlank(property), "Name of the property should not be empty");
+        checkArgument(reading != null, "Reading of the property should be defined");
+
+        AttemptCache cache = CURRENT.get();
+        if (cache == null) {
+            return reading.get();
+        }
+
+        Key key = new Key(target, property);
+        Object cached = cache.values.get(key);
+        if (cached == null) {
+            V value = reading.get();
+            cached = cache.values.putIfAbsent(key, value == null ? NULL : value);
+            if (cached == null) {
+                return value;
+            }
+        }
+        return cached == NULL ? null : (V) cached;
+    }
+
+    /**
+     * @return the cache of the attempt which is made by the current thread. {@code null} is returned
+     * when the cache is turned off or there is no attempt.
+     */
+    @Nullable
+    static AttemptCache current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the given cache current while the action is performed by the current thread.
+     */
+    static <F> F within(@Nullable AttemptCache cache, Supplier<F> action) {
+        AttemptCache previous = CURRENT.get();
+        if (cache == previous) {
+            return action.get();
+        }
+
+        if (cache == null) {
+            CURRENT.remove();
+        }
+        else {
+            CURRENT.set(cache);
+        }
+        try {
+            return action.get();
+        }
+        finally {
+            if (previous == null) {
+                CURRENT.remove();
+            }
+            else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private static final class Key {
+        private final Object target;
+        private final String property;
+
+        private Key(Object target, String property) {
+            this.target = target;
+            this.property = property;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return target == key.target && property.equals(key.property);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(target) + property.hashCode();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.toy.constructor.core.api;
+
+/**
+ * Properties of the cache of values which are read during one attempt of a waiting function.
+ * @see AttemptCache
+ */
+public enum AttemptCacheProperties implements PropertySupplier<Boolean> {
+    /**
+     * Reads property {@code "waiting.attempt.cache"}. It means that values which are read by
+     * {@link AttemptCache#read(Object, String, java.util.function.Supplier)} are cached during one attempt
+     * of a waiting function if the property is defined and has value {@code true}.
+     */
+    ATTEMPT_CACHE("waiting.attempt.cache");
+
+    private final String propertyName;
+
+    AttemptCacheProperties(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    @Override
+    public Boolean get() {
+        return returnOptionalFromEnvironment()
+                .map(Boolean::parseBoolean).orElse(false);
+    }
+}
@@ -0,0 +1,256 @@
+package com.github.toy.constructor.core.api;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import static com.github.toy.constructor.core.api.StepExecutorProperties.CONDITION_CHECK_PARALLELISM;
+import static com.google.common.cache.CacheBuilder.newBuilder;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+
+/**
+ * Checks conditions of elements concurrently when functions of {@link ToGetObjectFromIterable},
+ * {@link ToGetObjectFromArray}, {@link ToGetSubIterable} and {@link ToGetSubArray} are created with
+ * {@code checkConditionInParallel = true}. Conditions are checked by the thread which applies the function and
+ * by threads of the executor, see {@link #setExecutor(Executor)}. The common {@link java.util.concurrent.ForkJoinPool}
+ * is not used, so blocking checks, e.g. remote calls, don't starve other tasks.
+ * <p>
+ * Count of conditions which are checked at the same time for the same session (e.g. the same WebDriver) is
+ * limited by {@link StepExecutorProperties#CONDITION_CHECK_PARALLELISM}. The session of an input value is resolved
+ * by {@link Sessions}. The limit is shared by all functions applied to values of this session concurrently.
+ */
+public final class ConditionExecutors {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService DEFAULT = newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, format("condition-check-%s", THREAD_COUNTER.incrementAndGet()));
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * It is used as the key of permits when the input value is {@code null}.
+     */
+    private static final Object NO_INPUT = new Object();
+    /**
+     * Permits to check conditions for each session. Keys are weak and they are compared by identity.
+     */
+    private static final Map<Object, Semaphore> PERMITS = newBuilder().weakKeys()
+            .<Object, Semaphore>build().asMap();
+
+    /**
+     * Session which elements are checked by the current thread. Nested checks for the same session are performed
+     * one by one by the current thread. It prevents the deadlock when all permits are taken by outer checks.
+     */
+    private static final ThreadLocal<Object> CHECKED_SESSION = new ThreadLocal<>();
+
+    private static final LongAdder EVALUATIONS = new LongAdder();
+    private static final LongAdder CHECKING_NANOS = new LongAdder();
+    private static final LongAdder ELAPSED_NANOS = new LongAdder();
+
+    private static volatile Executor executor = DEFAULT;
+
+    private ConditionExecutors() {
+        super();
+    }
+
+    /**
+     * @return executor which checks conditions concurrently.
+     */
+    public static Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor which checks conditions concurrently. The cached pool of daemon threads is used by default.
+     * An executor which starts a virtual thread per task may be used when it is supported by the JVM.
+     *
+     * @param executor to use. {@code null} restores the default executor.
+     */
+    public static void setExecutor(Executor executor) {
+        ConditionExecutors.executor = executor == null ? DEFAULT : executor;
+    }
+
+    /**
+     * @return count of concurrent checks of elements since the start or the last {@link #resetStatistics()}.
+     */
+    public static long getEvaluationCount() {
+        return EVALUATIONS.sum();
+    }
+
+    /**
+     * Returns the speed-up of concurrent checks. It is the time which is spent by all checks of conditions divided
+     * by the time which is spent by concurrent evaluations. It shows how many times concurrent checking is faster
+     * than checking of the same elements one by one.
+     *
+     * @return the speed-up. It is {@code 1} when nothing is checked.
+     */
+    public static double getSpeedUp() {
+        long elapsed = ELAPSED_NANOS.sum();
+        if (elapsed == 0) {
+            return 1;
+        }
+        return (double) CHECKING_NANOS.sum() / elapsed;
+    }
+
+    /**
+     * Removes collected statistics.
+     */
+    public static void resetStatistics() {
+        EVALUATIONS.reset();
+        CHECKING_NANOS.reset();
+        ELAPSED_NANOS.reset();
+    }
+
+    /**
+     * Checks elements concurrently and returns suitable ones in the same order as they are given. Checking is
+     * finished when the limit of suitable elements is reached.
+     */
+    static <R> List<R> select(@Nullable Object input, List<R> elements, Predicate<R> suitable, int limit) {
+        Object key = input == null ? NO_INPUT : Sessions.getSession(input);
+        Evaluation<R> evaluation = new Evaluation<>(elements, suitable, limit);
+        if (CHECKED_SESSION.get() == key) {
+            evaluation.check(key);
+            return evaluation.getResult();
+        }
+
+        Semaphore permits = PERMITS.computeIfAbsent(key, o -> new Semaphore(CONDITION_CHECK_PARALLELISM.get()));
+        long start = nanoTime();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+
+        try {
+            List<CompletableFuture<Void>> helpers = new ArrayList<>();
+            Executor helperExecutor = executor;
+            while (helpers.size() < elements.size() - 1 && permits.tryAcquire()) {
+                CompletableFuture<Void> helper = new CompletableFuture<>();
+                try {
+                    helperExecutor.execute(() -> {
+                        try {
+                            evaluation.check(key);
+                        }
+                        finally {
+                            permits.release();
+                            helper.complete(null);
+                        }
+                    });
+                }
+                catch (RejectedExecutionException e) {
+                    permits.release();
+                    break;
+                }
+                helpers.add(helper);
+            }
+
+            evaluation.check(key);
+            helpers.forEach(CompletableFuture::join);
+        }
+        finally {
+            permits.release();
+        }
+
+        EVALUATIONS.increment();
+        CHECKING_NANOS.add(evaluation.checkingNanos.sum());
+        ELAPSED_NANOS.add(nanoTime() - start);
+        return evaluation.getResult();
+    }
+
+    private static final class Evaluation<R> {
+        private final List<R> elements;
+        private final Predicate<R> suitable;
+        private final int limit;
+        private final boolean[] results;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger found = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final LongAdder checkingNanos = new LongAdder();
+        private volatile boolean finished;
+
+        private Evaluation(List<R> elements, Predicate<R> suitable, int limit) {
+            this.elements = elements;
+            this.suitable = suitable;
+            this.limit = limit;
+            results = new boolean[elements.size()];
+        }
+
+        /**
+         * Checks elements one by one in the order they are given until all elements are taken or the evaluation
+         * is finished. Elements are taken by all threads from the same counter, so checked elements are always
+         * the beginning of the list.
+         */
+        private void check(Object session) {
+            Object previous = CHECKED_SESSION.get();
+            CHECKED_SESSION.set(session);
+            try {
+                checkElements();
+            }
+            finally {
+                if (previous == null) {
+                    CHECKED_SESSION.remove();
+                }
+                else {
+                    CHECKED_SESSION.set(previous);
+                }
+            }
+        }
+
+        private void checkElements() {
+            int index;
+            while (!finished && (index = next.getAndIncrement()) < elements.size()) {
+                long start = nanoTime();
+                try {
+                    if (suitable.test(elements.get(index))) {
+                        results[index] = true;
+                        if (found.incrementAndGet() >= limit) {
+                            finished = true;
+                        }
+                    }
+                }
+                catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                    finished = true;
+                }
+                finally {
+                    checkingNanos.add(nanoTime() - start);
+                }
+            }
+        }
+
+        private List<R> getResult() {
+            Throwable thrown = failure.get();
+            if (thrown instanceof RuntimeException) {
+                throw (RuntimeException) thrown;
+            }
+            if (thrown instanceof Error) {
+                throw (Error) thrown;
+            }
+            if (thrown != null) {
+                throw new RuntimeException(thrown);
+            }
+
+            List<R> result = new ArrayList<>();
+            int checked = Math.min(next.get(), elements.size());
+            for (int i = 0; i < checked && result.size() < limit; i++) {
+                if (results[i]) {
+                    result.add(elements.get(i));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,25 +1,74 @@
 package com.github.toy.constructor.core.api;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import static com.github.toy.constructor.core.api.StoryWriter.rendered;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Suppliers.ofInstance;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
-@SuppressWarnings("unchecked")
 class DescribedConsumer<T> implements Consumer<T> {
 
-    private final LinkedList<Consumer<T>> sequence = new LinkedList<>();
-    private final String description;
+    private final Supplier<String> description;
     private final Consumer<T> consumer;
+    /**
+     * Actions of the sequence. This list and {@link #steps} are never changed after the creation.
+     * So the same described consumer may be performed many times by many threads.
+     */
+    private final List<DescribedConsumer<T>> sequence;
+    /**
+     * Actions which are performed one by one by {@link PerformStep#perform(Consumer)}. The first one is the first
+     * action of the sequence. Others are described like {@code and then <action>}.
+     */
+    private final List<DescribedConsumer<T>> steps;
 
     DescribedConsumer(String description, Consumer<T> consumer) {
-        checkArgument(consumer != null, "Consumer should be defined");
+        this(ofInstance(description), consumer);
         checkArgument(!isBlank(description), "Description should not be empty");
+    }
+
+    DescribedConsumer(Supplier<String> description, Consumer<T> consumer) {
+        checkArgument(consumer != null, "Consumer should be defined");
+        checkArgument(description != null, "Description should be defined");
+        this.description = rendered(description);
+        this.consumer = consumer;
+        sequence = emptyList();
+        steps = emptyList();
+    }
+
+    private DescribedConsumer(Supplier<String> description, Consumer<T> consumer,
+                              List<DescribedConsumer<T>> sequence) {
         this.description = description;
         this.consumer = consumer;
+        this.sequence = unmodifiableList(sequence);
+        List<DescribedConsumer<T>> steps = new ArrayList<>(sequence.size());
+        for (DescribedConsumer<T> step : sequence) {
+            steps.add(steps.isEmpty() ? step :
+                    new DescribedConsumer<>(rendered(() -> "and then " + step), step, emptyList()));
+        }
+        this.steps = unmodifiableList(steps);
+    }
+
+    private static <T> List<DescribedConsumer<T>> actionsOf(DescribedConsumer<T> sequenceChain) {
+        if (sequenceChain.sequence.isEmpty()) {
+            return singletonList(sequenceChain);
+        }
+        return sequenceChain.sequence;
+    }
+
+    /**
+     * Consumers of a super type of {@code T} accept values of {@code T}, so they are used as consumers of {@code T}.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> DescribedConsumer<T> described(Consumer<? super T> consumer) {
+        return (DescribedConsumer<T>) consumer;
     }
 
     private static <T> DescribedConsumer<T> getSequentialDescribedConsumer(Consumer<? super T> before,
@@ -33,11 +82,12 @@ class DescribedConsumer<T> implements Consumer<T> {
                 "It seems given consumer doesn't describe any after-action. Use method " +
                         "StoryWriter.action to describe the after-action.");
 
-        return new DescribedConsumer<T>(after.toString(), t -> {
+        List<DescribedConsumer<T>> sequence = new ArrayList<>(actionsOf(DescribedConsumer.<T>described(before)));
+        sequence.addAll(actionsOf(DescribedConsumer.<T>described(after)));
+
+        return new DescribedConsumer<T>(rendered(after::toString), t -> {
             before.accept(t); after.accept(t);
-        })
-                .addToSequence(DescribedConsumer.class.cast(before))
-                .addToSequence(DescribedConsumer.class.cast(after));
+        }, sequence);
     }
 
     @Override
@@ -47,22 +97,11 @@ class DescribedConsumer<T> implements Consumer<T> {
 
     @Override
     public String toString() {
-        return description;
+        return description.get();
     }
 
-    LinkedList<Consumer<T>> getSequence() {
-        return sequence;
-    }
-
-    private DescribedConsumer<T> addToSequence(DescribedConsumer<T> sequenceChain) {
-        List<Consumer<T>> consumers = sequenceChain.getSequence();
-        if (consumers.size() == 0) {
-            sequence.addLast(sequenceChain);
-        }
-        else {
-            sequence.addAll(consumers);
-        }
-        return this;
+    List<DescribedConsumer<T>> getSteps() {
+        return steps;
     }
 
     public Consumer<T> andThen(Consumer<? super T> afterAction)  {
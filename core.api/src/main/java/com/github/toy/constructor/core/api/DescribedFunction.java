@@ -1,29 +1,58 @@
 package com.github.toy.constructor.core.api;
 
-import java.util.LinkedList;
-import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import static com.github.toy.constructor.core.api.StoryWriter.rendered;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Suppliers.ofInstance;
+import static java.lang.String.valueOf;
 import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 @SuppressWarnings("unchecked")
 class DescribedFunction<T, R> implements Function<T, R> {
 
-    private final LinkedList<Function<Object, Object>> sequence = new LinkedList<>();
-    private final String description;
+    private static final Hop[] NO_HOPS = new Hop[0];
+
+    private final Supplier<String> description;
     private final Function<T, R> function;
+    /**
+     * Functions of the sequence which are applied one by one by {@link GetStep#get(Function)}.
+     * It is compiled once when the function is created and it is never changed after that.
+     */
+    private final Hop[] plan;
 
     DescribedFunction(String description, Function<T, R> function) {
-        checkArgument(function != null, "Function should be defined");
+        this(ofInstance(description), function);
         checkArgument(!isBlank(description), "Description should not be empty");
-        this.description = description;
+    }
+
+    DescribedFunction(Supplier<String> description, Function<T, R> function) {
+        checkArgument(function != null, "Function should be defined");
+        checkArgument(description != null, "Description should be defined");
+        this.description = rendered(description);
         this.function = function;
         if (DescribedFunction.class.isAssignableFrom(function.getClass())) {
-            addToSequence(DescribedFunction.class.cast(function));
+            plan = hopsOf(DescribedFunction.class.cast(function));
+        }
+        else {
+            plan = NO_HOPS;
+        }
+    }
+
+    private DescribedFunction(Supplier<String> description, Function<T, R> function, Hop[] plan) {
+        this.description = description;
+        this.function = function;
+        this.plan = plan;
+    }
+
+    private static Hop[] hopsOf(DescribedFunction<?, ?> sequenceChain) {
+        if (sequenceChain.plan.length == 0) {
+            return new Hop[] {new Hop(sequenceChain)};
         }
+        return sequenceChain.plan;
     }
 
     private static <T, V, R> Function<T, R> getSequentialDescribedFunction(Function<? super T, ? extends V> before,
@@ -37,13 +66,16 @@ class DescribedFunction<T, R> implements Function<T, R> {
                 "It seems given after-function doesn't describe any value to get. Use method " +
                         "StoryWriter.toGet to describe the value to get previously.");
 
+        Hop[] beforeHops = hopsOf(DescribedFunction.class.cast(before));
+        Hop[] afterHops = hopsOf(DescribedFunction.class.cast(after));
+        Hop[] plan = new Hop[beforeHops.length + afterHops.length];
+        System.arraycopy(beforeHops, 0, plan, 0, beforeHops.length);
+        System.arraycopy(afterHops, 0, plan, beforeHops.length, afterHops.length);
 
-        return new DescribedFunction<T, R>(after.toString(), t -> {
+        return new DescribedFunction<T, R>(rendered(after::toString), t -> {
             V result = before.apply(t);
             return ofNullable(result).map(after).orElse(null);
-        })
-                .addToSequence(DescribedFunction.class.cast(before))
-                .addToSequence(DescribedFunction.class.cast(after));
+        }, plan);
     }
 
     @Override
@@ -51,24 +83,17 @@ class DescribedFunction<T, R> implements Function<T, R> {
         return function.apply(t);
     }
 
-    LinkedList<Function<Object, Object>> getSequence() {
-        return sequence;
+    Hop[] getPlan() {
+        return plan;
     }
 
-    private DescribedFunction<T, R> addToSequence(DescribedFunction<?, ?> sequenceChain) {
-        List<Function<Object, Object>> functions = sequenceChain.getSequence();
-        if (sequenceChain.getSequence().size() == 0) {
-           sequence.addLast((Function<Object, Object>) sequenceChain);
-        }
-        else {
-            sequence.addAll(functions);
-        }
-        return this;
+    Function<T, R> getFunction() {
+        return function;
     }
 
     @Override
     public String toString() {
-        return description;
+        return description.get();
     }
 
     public <V> Function<V, R> compose(Function<? super V, ? extends T> before) {
@@ -78,4 +103,65 @@ class DescribedFunction<T, R> implements Function<T, R> {
     public <V> Function<T, V> andThen(Function<? super R, ? extends V> after) {
         return getSequentialDescribedFunction(this, after);
     }
+
+    /**
+     * A function of the sequence.
+     */
+    static final class Hop {
+        private final Function<Object, Object> function;
+
+        private Hop(DescribedFunction<?, ?> function) {
+            this.function = (Function<Object, Object>) function;
+        }
+
+        Function<Object, Object> getFunction() {
+            return function;
+        }
+
+        /**
+         * @param target instance which performs steps.
+         * @return described function which applies this hop to the target. It is described as the hop.
+         */
+        <V> DescribedFunction<V, Object> start(Object target) {
+            return (DescribedFunction<V, Object>) new BoundHop(this, target, true);
+        }
+
+        /**
+         * @param value result of the previous hop.
+         * @return described function which applies this hop to the value. It is described like
+         * {@code from <value> get <hop>}. The description is built only when it is asked.
+         */
+        <V> DescribedFunction<V, Object> from(Object value) {
+            return (DescribedFunction<V, Object>) new BoundHop(this, value, false);
+        }
+    }
+
+    private static final class BoundHop extends DescribedFunction<Object, Object> {
+        private final Hop hop;
+        private final Object value;
+        private final boolean first;
+
+        private BoundHop(Hop hop, Object value, boolean first) {
+            super(null, null, NO_HOPS);
+            this.hop = hop;
+            this.value = value;
+            this.first = first;
+        }
+
+        @Override
+        public Object apply(Object t) {
+            if (value == null) {
+                return null;
+            }
+            return hop.function.apply(value);
+        }
+
+        @Override
+        public String toString() {
+            if (first) {
+                return hop.function.toString();
+            }
+            return "from " + valueOf(value) + " get " + hop.function;
+        }
+    }
 }
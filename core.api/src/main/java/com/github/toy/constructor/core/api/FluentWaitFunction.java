@@ -0,0 +1,247 @@
+package com.github.toy.constructor.core.api;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.github.toy.constructor.core.api.WaitingMetrics.getTimeOutNanos;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The function which makes attempts to get a valuable result until the waiting time is over.
+ * Attempts are made by the current thread when the function is applied or they are scheduled
+ * by {@link #applyAsync(Object, ScheduledExecutorService)}.
+ */
+final class FluentWaitFunction<T, F> implements Function<T, F> {
+
+    /**
+     * The time ({@link System#nanoTime()}) when the outermost waiting which is performed by the current thread
+     * should be finished. Nested waitings are not longer than the time which remains.
+     */
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    /**
+     * Time of attempts to get a valuable result when the time of the waiting is not defined.
+     */
+    static final Duration DEFAULT_WAITING = Duration.ofMillis(100);
+
+    private final Supplier<String> description;
+    private final Function<T, F> originalFunction;
+    private final boolean timeDefined;
+    private final long timeOutNanos;
+    private final Duration sleeping;
+    private final Predicate<F> till;
+    private final Supplier<? extends RuntimeException> exceptionOnTimeOut;
+    private final PollingStrategy polling;
+    private final boolean attemptCache;
+
+    FluentWaitFunction(Supplier<String> description,
+                       Function<T, F> originalFunction,
+                       @Nullable Duration waitingTime,
+                       Duration sleeping,
+                       Predicate<F> till,
+                       @Nullable Supplier<? extends RuntimeException> exceptionOnTimeOut,
+                       PollingStrategy polling,
+                       boolean attemptCache) {
+        this.description = description;
+        this.originalFunction = originalFunction;
+        this.timeDefined = waitingTime != null;
+        this.timeOutNanos = waitingTime == null ? 0 : waitingTime.toNanos();
+        this.sleeping = sleeping;
+        this.till = till;
+        this.exceptionOnTimeOut = exceptionOnTimeOut;
+        this.polling = polling;
+        this.attemptCache = attemptCache;
+    }
+
+    /**
+     * @return the time ({@link System#nanoTime()}) when the waiting which is performed by the current thread
+     * should be finished. {@code null} is returned when there is no waiting.
+     */
+    @Nullable
+    static Long currentDeadline() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * Makes the given deadline current while the action is performed by the current thread. So waitings
+     * which are performed by other threads on behalf of a waiting are not longer than the time which remains.
+     */
+    static <F> F withinDeadline(@Nullable Long deadline, Supplier<F> action) {
+        Long previous = DEADLINE.get();
+        if (Objects.equals(deadline, previous)) {
+            return action.get();
+        }
+
+        if (deadline == null) {
+            DEADLINE.remove();
+        }
+        else {
+            DEADLINE.set(deadline);
+        }
+        try {
+            return action.get();
+        }
+        finally {
+            if (previous == null) {
+                DEADLINE.remove();
+            }
+            else {
+                DEADLINE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns the time when the waiting should be finished. The waiting is not shorter than one sleeping
+     * when the time of the waiting is defined, so the second attempt is made after the sleeping. Attempts are made
+     * for {@link #DEFAULT_WAITING} when the time of the waiting is not defined.
+     */
+    private long getEndNanos(long startNanos) {
+        Long outerDeadline = DEADLINE.get();
+        long endNanos = startNanos + (timeDefined ?
+                max(getTimeOutNanos(description, timeOutNanos), sleeping.toNanos()) : DEFAULT_WAITING.toNanos());
+        if (outerDeadline != null && outerDeadline - endNanos < 0) {
+            return outerDeadline;
+        }
+        return endNanos;
+    }
+
+    private long getSleepingNanos(int attempt, long endNanos) {
+        return min(polling.nextSleeping(attempt, sleeping).toNanos(),
+                max(endNanos - nanoTime(), 0));
+    }
+
+    /**
+     * @return is the waiting cut short by the outer waiting which is performed by the current thread.
+     */
+    private static boolean isTruncated(long endNanos) {
+        Long outerDeadline = DEADLINE.get();
+        return outerDeadline != null && outerDeadline == endNanos;
+    }
+
+    /**
+     * Records statistics of the waiting when it is needed, see {@link WaitingMetrics}. The time-out
+     * of the waiting which is cut short by the outer waiting is not recorded. It doesn't show that the defined
+     * time is not enough.
+     */
+    private void record(int attempts, long startNanos, boolean success, boolean truncated) {
+        if (timeDefined && (success || !truncated) && WaitingMetrics.isEnabled()) {
+            WaitingMetrics.record(description, attempts, nanoTime() - startNanos, success);
+        }
+    }
+
+    private F onTimeOut(F f, IgnoredExceptions ignored) {
+        if (exceptionOnTimeOut != null) {
+            throw ignored.attachTo(exceptionOnTimeOut.get());
+        }
+        return f;
+    }
+
+    /**
+     * Makes an attempt to get a value. Waitings which are performed by the attempt are not longer
+     * than the time which remains. Exceptions which are ignored on condition checks are recorded by
+     * the given aggregator. Values which are read by the attempt are cached by a new {@link AttemptCache}
+     * when it is turned on.
+     */
+    private F attempt(T t, long endNanos, IgnoredExceptions ignored) {
+        Supplier<F> attempt = () -> IgnoredExceptions.collect(ignored, () -> originalFunction.apply(t));
+        return withinDeadline(timeDefined ? Long.valueOf(endNanos) : DEADLINE.get(),
+                () -> attemptCache ? AttemptCache.within(new AttemptCache(), attempt) : attempt.get());
+    }
+
+    @Override
+    public F apply(T t) {
+        long startNanos = nanoTime();
+        long endNanos = getEndNanos(startNanos);
+        boolean truncated = isTruncated(endNanos);
+        F f;
+        int attempt = 0;
+        IgnoredExceptions ignored = new IgnoredExceptions(description);
+        try {
+            while (!till.test(f = attempt(t, endNanos, ignored))) {
+                if (nanoTime() - endNanos >= 0) {
+                    record(attempt + 1, startNanos, false, truncated);
+                    return onTimeOut(f, ignored);
+                }
+
+                attempt++;
+                try {
+                    NANOSECONDS.sleep(getSleepingNanos(attempt, endNanos));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+        finally {
+            ignored.report();
+        }
+        record(attempt + 1, startNanos, true, truncated);
+        return f;
+    }
+
+    /**
+     * Makes attempts to get a valuable result by threads of the given scheduler. No thread is blocked
+     * between attempts.
+     *
+     * @param t is the input value
+     * @param scheduler which makes attempts
+     * @return the future which is completed by a valuable result, or when the waiting time is over.
+     */
+    CompletableFuture<F> applyAsync(T t, ScheduledExecutorService scheduler) {
+        CompletableFuture<F> result = new CompletableFuture<>();
+        long startNanos = nanoTime();
+        long endNanos = getEndNanos(startNanos);
+        boolean truncated = isTruncated(endNanos);
+        try {
+            IgnoredExceptions ignored = new IgnoredExceptions(description);
+            result.whenComplete((f, throwable) -> ignored.report());
+            scheduler.execute(() -> attemptAsync(t, startNanos, endNanos, truncated, 0, result, scheduler,
+                    ignored));
+        }
+        catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void attemptAsync(T t, long startNanos, long endNanos, boolean truncated, int attempt,
+                              CompletableFuture<F> result, ScheduledExecutorService scheduler,
+                              IgnoredExceptions ignored) {
+        if (result.isDone()) {
+            return;
+        }
+
+        try {
+            F f = attempt(t, endNanos, ignored);
+            if (till.test(f)) {
+                record(attempt + 1, startNanos, true, truncated);
+                result.complete(f);
+                return;
+            }
+
+            if (nanoTime() - endNanos >= 0) {
+                record(attempt + 1, startNanos, false, truncated);
+                result.complete(onTimeOut(f, ignored));
+                return;
+            }
+
+            int next = attempt + 1;
+            scheduler.schedule(() -> attemptAsync(t, startNanos, endNanos, truncated, next, result, scheduler,
+                    ignored), getSleepingNanos(next, endNanos), NANOSECONDS);
+        }
+        catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
@@ -1,15 +1,17 @@
 package com.github.toy.constructor.core.api;
 
-import java.util.LinkedList;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import static com.github.toy.constructor.core.api.StoryWriter.toGet;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static java.lang.String.format;
-import static java.lang.String.valueOf;
-import static java.util.Optional.ofNullable;
 
 @SuppressWarnings("unchecked")
 public interface GetStep<THIS extends GetStep<THIS>> {
@@ -23,21 +25,15 @@ public interface GetStep<THIS extends GetStep<THIS>> {
                         "by the StoryWriter.toGet method.");
 
         DescribedFunction<THIS, T> describedFunction = DescribedFunction.class.cast(function);
-        LinkedList<Function<Object, Object>> functionSequence = describedFunction.getSequence();
+        DescribedFunction.Hop[] plan = describedFunction.getPlan();
 
-        if (functionSequence.size() == 0) {
+        if (plan.length == 0) {
             return log(function.apply((THIS) this));
         }
 
-        LinkedList<Function<Object, Object>> sequence = new LinkedList<>(functionSequence);
-        Function<Object, Object> first = sequence.get(0);
-        sequence.removeFirst();
-        Object value = get(toGet(first.toString(), thisParam -> first.apply(this)));
-
-        for (Function<Object, Object> function1: sequence) {
-            Object from = value;
-            value = get(toGet(format("from %s get %s", valueOf(from), function1), thisParam ->
-                    ofNullable(from).map(function1).orElse(null)));
+        Object value = get(plan[0].start(this));
+        for (int i = 1; i < plan.length; i++) {
+            value = get(plan[i].from(value));
         }
         return (T) value;
     }
@@ -47,6 +43,81 @@ public interface GetStep<THIS extends GetStep<THIS>> {
         return get(functionSupplier.get());
     }
 
+    /**
+     * Gets the value asynchronously. Asynchronous steps of the same instance are performed one by one
+     * in the order they were started. They are reported as they are performed by {@link #get(Function)}.
+     *
+     * @param function which returns the goal value. It should be described by {@link StoryWriter#toGet(String, Function)}
+     * @param executor to perform the step
+     * @param <T> type of the goal value
+     * @return the future of the goal value
+     */
+    default <T> CompletableFuture<T> getAsync(Function<THIS, T> function, Executor executor) {
+        return StepExecutors.supplyAsync(this, () -> get(function), executor);
+    }
+
+    /**
+     * Gets the value asynchronously by the default executor. See {@link StepExecutors#getDefaultExecutor()}
+     * and {@link #getAsync(Function, Executor)}.
+     *
+     * @param function which returns the goal value. It should be described by {@link StoryWriter#toGet(String, Function)}
+     * @param <T> type of the goal value
+     * @return the future of the goal value
+     */
+    default <T> CompletableFuture<T> getAsync(Function<THIS, T> function) {
+        return getAsync(function, StepExecutors.getDefaultExecutor());
+    }
+
+    /**
+     * Gets independent values concurrently. Each value is got and reported as it is got by {@link #get(Function)}.
+     * Count of values which are got for the same session (e.g. the same WebDriver) at the same time is limited
+     * by {@link StepExecutorProperties#GET_ALL_PARALLELISM}. The session of the instance is resolved
+     * by {@link Sessions}. Functions should not change the state of the instance.
+     *
+     * @param functions which return values. They should be described by {@link StoryWriter#toGet(String, Function)}
+     * @return list of got values in the same order as functions are given
+     */
+    default List<Object> getAll(List<Function<THIS, ?>> functions) {
+        checkArgument(functions != null, "Functions are not defined");
+        List<Supplier<?>> steps = new ArrayList<>(functions.size());
+        for (Function<THIS, ?> function : functions) {
+            steps.add(() -> get(function));
+        }
+        return StepExecutors.getAll(this, steps);
+    }
+
+    /**
+     * Gets two independent values concurrently. See {@link #getAll(List)}.
+     *
+     * @param first function which returns the first value
+     * @param second function which returns the second value
+     * @param <A> type of the first value
+     * @param <B> type of the second value
+     * @return pair of got values
+     */
+    default <A, B> Pair<A, B> getAll(Function<THIS, A> first, Function<THIS, B> second) {
+        List<Object> values = StepExecutors.getAll(this, List.of(() -> get(first), () -> get(second)));
+        return Pair.of((A) values.get(0), (B) values.get(1));
+    }
+
+    /**
+     * Gets three independent values concurrently. See {@link #getAll(List)}.
+     *
+     * @param first function which returns the first value
+     * @param second function which returns the second value
+     * @param third function which returns the third value
+     * @param <A> type of the first value
+     * @param <B> type of the second value
+     * @param <C> type of the third value
+     * @return triple of got values
+     */
+    default <A, B, C> Triple<A, B, C> getAll(Function<THIS, A> first, Function<THIS, B> second,
+                                             Function<THIS, C> third) {
+        List<Object> values = StepExecutors.getAll(this, List.of(() -> get(first), () -> get(second),
+                () -> get(third)));
+        return Triple.of((A) values.get(0), (B) values.get(1), (C) values.get(2));
+    }
+
     @ToBeReported(constantMessagePart = "Returned value:")
     default  <T> T log(T value) {
         return value;
@@ -0,0 +1,160 @@
+package com.github.toy.constructor.core.api;
+
+import com.github.toy.constructor.core.api.proxy.Logger;
+import com.github.toy.constructor.core.api.proxy.LoggerRegistry;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.util.Comparator.comparing;
+
+/**
+ * Aggregates exceptions which are thrown by condition checks and ignored during one waiting. Occurrences are counted
+ * by the type and message of an exception and only a few of them keep stack traces. So a long waiting over elements
+ * which can't be checked produces one summary instead of a stack trace for each element on each attempt.
+ * The summary is logged when the waiting is finished and it is attached to the exception which is thrown
+ * on the waiting time expiration.
+ */
+final class IgnoredExceptions {
+
+    private static final int MAX_SAMPLES = 3;
+    private static final int MAX_KINDS = 20;
+    private static final String OTHER_EXCEPTIONS = "Other exceptions";
+
+    /**
+     * Exceptions ignored by the waiting which is performed by the current thread.
+     */
+    private static final ThreadLocal<IgnoredExceptions> CURRENT = new ThreadLocal<>();
+
+    private final Supplier<String> description;
+    private final Map<String, LongAdder> occurrences = new ConcurrentHashMap<>();
+    private final List<Throwable> samples = new ArrayList<>();
+
+    IgnoredExceptions(Supplier<String> description) {
+        this.description = description;
+    }
+
+    /**
+     * @return exceptions ignored by the waiting which is performed by the current thread. {@code null} is returned
+     * when there is no waiting.
+     */
+    @Nullable
+    static IgnoredExceptions current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the given aggregator current while the action is performed by the current thread.
+     */
+    static <F> F collect(IgnoredExceptions ignored, Supplier<F> action) {
+        IgnoredExceptions previous = CURRENT.get();
+        CURRENT.set(ignored);
+        try {
+            return action.get();
+        }
+        finally {
+            if (previous == null) {
+                CURRENT.remove();
+            }
+            else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    void record(Throwable t) {
+        String kind = format("%s: %s", t.getClass().getName(), t.getMessage());
+        LongAdder counter = occurrences.get(kind);
+        if (counter == null) {
+            if (occurrences.size() >= MAX_KINDS) {
+                kind = OTHER_EXCEPTIONS;
+            }
+            counter = occurrences.computeIfAbsent(kind, k -> new LongAdder());
+        }
+        counter.increment();
+
+        synchronized (samples) {
+            if (samples.size() < MAX_SAMPLES && samples.stream().noneMatch(sample ->
+                    sample.getClass().equals(t.getClass()))) {
+                samples.add(t);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return occurrences.isEmpty();
+    }
+
+    String getSummary() {
+        StringBuilder summary = new StringBuilder(format("%s exceptions were ignored on condition check of '%s'",
+                occurrences.values().stream().mapToLong(LongAdder::sum).sum(), description.get()));
+        occurrences.entrySet().stream()
+                .sorted(comparing((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .forEach(e -> summary.append(format("%n%s times: %s", e.getValue().sum(), e.getKey())));
+        return summary.toString();
+    }
+
+    /**
+     * Logs the summary by loggers which are found by the {@link java.util.ServiceLoader} when some exceptions
+     * were ignored. The summary is printed to the standard error output when there are no such loggers,
+     * so ignored exceptions are not lost. Stack traces are not printed.
+     */
+    void report() {
+        if (isEmpty()) {
+            return;
+        }
+
+        String summary = getSummary();
+        List<Logger> loggers = LoggerRegistry.getLoggers();
+        if (loggers.isEmpty()) {
+            System.err.println(summary);
+            return;
+        }
+        loggers.forEach(logger -> logger.log(summary));
+    }
+
+    /**
+     * Logs the exception which is ignored out of any waiting the same way as the summary of a waiting is logged.
+     *
+     * @param t is the ignored exception
+     * @param description of the checked condition
+     */
+    static void report(Throwable t, Supplier<String> description) {
+        IgnoredExceptions ignored = new IgnoredExceptions(description);
+        ignored.record(t);
+        ignored.report();
+    }
+
+    /**
+     * Attaches the summary and sample stack traces to the given exception when some exceptions were ignored.
+     *
+     * @param exception to be thrown on the waiting time expiration
+     * @return the given exception
+     */
+    RuntimeException attachTo(RuntimeException exception) {
+        if (isEmpty()) {
+            return exception;
+        }
+
+        IgnoredExceptionsSummary summary = new IgnoredExceptionsSummary(getSummary());
+        synchronized (samples) {
+            samples.forEach(summary::addSuppressed);
+        }
+        exception.addSuppressed(summary);
+        return exception;
+    }
+
+    private static class IgnoredExceptionsSummary extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        IgnoredExceptionsSummary(String message) {
+            super(message, null, true, false);
+        }
+    }
+}
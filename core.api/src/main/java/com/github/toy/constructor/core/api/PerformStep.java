@@ -1,13 +1,13 @@
 package com.github.toy.constructor.core.api;
 
-import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
-import static com.github.toy.constructor.core.api.StoryWriter.action;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static java.lang.String.format;
 
 @SuppressWarnings("unchecked")
 public interface PerformStep<THIS extends PerformStep<THIS>> {
@@ -19,19 +19,16 @@ public interface PerformStep<THIS extends PerformStep<THIS>> {
                 "Action should be described by the StoryWriter.action method.");
 
         DescribedConsumer<THIS> describedConsumer = DescribedConsumer.class.cast(actionConsumer);
-        LinkedList<Consumer<THIS>> sequence = describedConsumer.getSequence();
+        List<DescribedConsumer<THIS>> steps = describedConsumer.getSteps();
 
-        if (sequence.size() == 0) {
+        if (steps.isEmpty()) {
             actionConsumer.accept((THIS) this);
             return (THIS) this;
         }
 
-        Consumer<THIS> first = sequence.get(0);
-        sequence.removeFirst();
-
-        perform(first);
-        sequence.forEach(thisConsumer -> perform(action(format("and then %s", thisConsumer), thisConsumer)));
-
+        for (DescribedConsumer<THIS> step : steps) {
+            perform(step);
+        }
         return (THIS) this;
     }
 
@@ -39,4 +36,30 @@ public interface PerformStep<THIS extends PerformStep<THIS>> {
         checkNotNull(actionSupplier, "Supplier of the action was not defined");
         return perform(actionSupplier.get());
     }
+
+    /**
+     * Performs the action asynchronously. Asynchronous steps of the same instance are performed one by one
+     * in the order they were started. They are reported as they are performed by {@link #perform(Consumer)}.
+     *
+     * @param actionConsumer is the action to perform. It should be described by {@link StoryWriter#action(String, Consumer)}
+     * @param executor to perform the step
+     * @return the future which is completed when the action is performed
+     */
+    default CompletableFuture<Void> performAsync(Consumer<THIS> actionConsumer, Executor executor) {
+        return StepExecutors.supplyAsync(this, () -> {
+            perform(actionConsumer);
+            return null;
+        }, executor);
+    }
+
+    /**
+     * Performs the action asynchronously by the default executor. See {@link StepExecutors#getDefaultExecutor()}
+     * and {@link #performAsync(Consumer, Executor)}.
+     *
+     * @param actionConsumer is the action to perform. It should be described by {@link StoryWriter#action(String, Consumer)}
+     * @return the future which is completed when the action is performed
+     */
+    default CompletableFuture<Void> performAsync(Consumer<THIS> actionConsumer) {
+        return performAsync(actionConsumer, StepExecutors.getDefaultExecutor());
+    }
 }
@@ -0,0 +1,56 @@
+package com.github.toy.constructor.core.api;
+
+import static java.lang.String.format;
+import static java.util.Arrays.stream;
+
+/**
+ * Properties of the polling which is performed by waiting functions.
+ * @see PollingStrategy
+ */
+public enum PollingProperties implements PropertySupplier<PollingStrategy> {
+    /**
+     * Reads property {@code "waiting.polling.strategy"}. It is a name of some item of {@link PollingStrategies}
+     * or a full name of a class which implements {@link PollingStrategy} and has a constructor
+     * without parameters. Returns {@link PollingStrategies#FIXED} when nothing is defined.
+     */
+    DEFAULT_POLLING_STRATEGY("waiting.polling.strategy");
+
+    private final String propertyName;
+
+    PollingProperties(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    @Override
+    public PollingStrategy get() {
+        return returnOptionalFromEnvironment()
+                .map(String::trim)
+                .map(s -> stream(PollingStrategies.values())
+                        .filter(strategy -> s.equalsIgnoreCase(strategy.name()))
+                        .<PollingStrategy>map(strategy -> strategy)
+                        .findFirst()
+                        .orElseGet(() -> newStrategy(s)))
+                .orElse(PollingStrategies.FIXED);
+    }
+
+    private PollingStrategy newStrategy(String className) {
+        try {
+            Class<?> strategyClass = Class.forName(className);
+            if (!PollingStrategy.class.isAssignableFrom(strategyClass)) {
+                throw new IllegalArgumentException(format("Property: %s. Class %s does not implement %s",
+                        this.toString(), className, PollingStrategy.class.getName()));
+            }
+            return (PollingStrategy) strategyClass.getConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(format("Property: %s. Unidentified polling strategy %s. " +
+                            "Please take a look at elements of %s", this.toString(), className,
+                    PollingStrategies.class.getName()), e);
+        }
+    }
+}
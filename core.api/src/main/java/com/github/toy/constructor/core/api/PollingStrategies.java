@@ -0,0 +1,56 @@
+package com.github.toy.constructor.core.api;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.lang.Math.min;
+import static java.time.Duration.ofNanos;
+
+/**
+ * Polling strategies which are provided out of the box.
+ */
+public enum PollingStrategies implements PollingStrategy {
+    /**
+     * Sleeps the defined sleeping time between attempts.
+     */
+    FIXED {
+        @Override
+        public Duration nextSleeping(int attempt, Duration sleepingTime) {
+            return sleepingTime;
+        }
+    },
+
+    /**
+     * Doubles the sleeping time after each failed attempt until it is {@code 16} times longer than
+     * the defined sleeping time. The sleeping is randomized between the half and the whole of the calculated
+     * value, so concurrent waitings do not poll at the same moments.
+     */
+    EXPONENTIAL_WITH_JITTER {
+        @Override
+        public Duration nextSleeping(int attempt, Duration sleepingTime) {
+            long nanos = sleepingTime.toNanos() << min(attempt - 1, MAX_SHIFT);
+            if (nanos < 2) {
+                return ofNanos(nanos);
+            }
+            return ofNanos(ThreadLocalRandom.current().nextLong(nanos / 2, nanos + 1));
+        }
+    },
+
+    /**
+     * Makes {@code 3} attempts quickly, one tenth of the defined sleeping time between them. Then it sleeps
+     * as {@link #EXPONENTIAL_WITH_JITTER} does. Values which appear soon are got without delay, long waitings
+     * do not poll too often.
+     */
+    FAST_FIRST {
+        @Override
+        public Duration nextSleeping(int attempt, Duration sleepingTime) {
+            if (attempt <= FAST_ATTEMPTS) {
+                return sleepingTime.dividedBy(10);
+            }
+            return EXPONENTIAL_WITH_JITTER.nextSleeping(attempt - FAST_ATTEMPTS, sleepingTime);
+        }
+    };
+
+    private static final int MAX_SHIFT = 4;
+    private static final int FAST_ATTEMPTS = 3;
+}
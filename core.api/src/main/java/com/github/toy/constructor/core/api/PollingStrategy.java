@@ -0,0 +1,21 @@
+package com.github.toy.constructor.core.api;
+
+import java.time.Duration;
+
+/**
+ * Defines how long a waiting function sleeps between attempts to get a valuable result.
+ * The default strategy is defined by {@link PollingProperties#DEFAULT_POLLING_STRATEGY}.
+ * @see PollingStrategies
+ */
+public interface PollingStrategy {
+
+    /**
+     * Returns duration of the sleeping before the next attempt.
+     *
+     * @param attempt is the number of the failed attempt. It starts from {@code 1}
+     * @param sleepingTime is the duration of the sleeping which is defined for the waiting function
+     * @return duration of the sleeping before the next attempt. The waiting function never sleeps
+     * longer than the waiting time which remains.
+     */
+    Duration nextSleeping(int attempt, Duration sleepingTime);
+}
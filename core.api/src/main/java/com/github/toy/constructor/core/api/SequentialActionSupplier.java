@@ -47,12 +47,12 @@ public abstract class SequentialActionSupplier<T, R, THIS extends SequentialActi
                 "Function should be described by the StoryWriter.toGet method");
         checkArgument(additionalArguments != null,
                 "Array of additional arguments should not be a null value");
-        String fullDescription = description;
-        fullDescription = format("%s. With parameters: %s", fullDescription,
-                ArrayUtils.toString(addAll(new Object[]{function}, additionalArguments)));
-        Consumer<T> action = action(fullDescription, t -> {
+        //the caller may change the array after the action is built
+        Object[] arguments = additionalArguments.clone();
+        Consumer<T> action = action(() -> format("%s. With parameters: %s", description,
+                ArrayUtils.toString(addAll(new Object[]{function}, arguments))), t -> {
             R r = function.apply(t);
-            performActionOn(r, additionalArguments);
+            performActionOn(r, arguments);
         });
 
         wrappedConsumer = ofNullable(wrappedConsumer).map(tConsumer -> tConsumer.andThen(action)).orElse(action);
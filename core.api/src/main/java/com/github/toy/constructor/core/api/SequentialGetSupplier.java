@@ -1,6 +1,5 @@
 package com.github.toy.constructor.core.api;
 
-import java.util.LinkedList;
 import java.util.function.Function;
 
 import static com.github.toy.constructor.core.api.StoryWriter.toGet;
@@ -36,17 +35,10 @@ public abstract class SequentialGetSupplier<T, R, Q, THIS extends SequentialGetS
 
         Function<Q, R> goalFunction = getEndFunction();
         DescribedFunction<T, ? extends Q> describedMediatorFunction = DescribedFunction.class.cast(mediatorFunction);
-        Function<?, ?> previous;
-        LinkedList<Function<Object, Object>> sequence = describedMediatorFunction.getSequence();
+        DescribedFunction.Hop[] plan = describedMediatorFunction.getPlan();
+        Function<?, ?> previous = plan.length == 0 ? describedMediatorFunction : plan[plan.length - 1].getFunction();
 
-        if (sequence.size() == 0) {
-            previous = describedMediatorFunction;
-        }
-        else {
-            previous = sequence.getLast();
-        }
-
-        return set(toGet(format("%s from (%s)", goalFunction, previous),
+        return set(toGet(() -> format("%s from (%s)", goalFunction, previous),
                 mediatorFunction.andThen(goalFunction)));
     }
 
@@ -0,0 +1,38 @@
+package com.github.toy.constructor.core.api;
+
+import javax.annotation.Nullable;
+import java.util.function.Function;
+
+/**
+ * Resolves the session which an object belongs to, e.g. the WebDriver of a web element. Conditions which are checked
+ * concurrently by {@link ConditionExecutors} and values which are got concurrently by
+ * {@link GetStep#getAll(java.util.List)} are limited per session. So checks of elements which are
+ * found by different parent elements of the same browser share the same limit. Each object is a session by itself
+ * until the resolver is set.
+ */
+public final class Sessions {
+
+    private static volatile Function<Object, ?> resolver = Function.identity();
+
+    private Sessions() {
+        super();
+    }
+
+    /**
+     * Sets the function which returns the session of an object.
+     *
+     * @param resolver to use. {@code null} restores the default resolver which returns an object as it is.
+     */
+    public static void setResolver(@Nullable Function<Object, ?> resolver) {
+        Sessions.resolver = resolver == null ? Function.identity() : resolver;
+    }
+
+    /**
+     * @param object to get the session of
+     * @return the session of the given object. The object itself is returned when the session is not resolved.
+     */
+    static Object getSession(Object object) {
+        Object session = resolver.apply(object);
+        return session == null ? object : session;
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.toy.constructor.core.api;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+
+/**
+ * Properties of steps which are performed concurrently.
+ * @see StepExecutors
+ */
+public enum StepExecutorProperties implements PropertySupplier<Integer> {
+    /**
+     * Reads property {@code "get.all.parallelism"}. It is the max count of values which are got concurrently
+     * for the same session, see {@link GetStep#getAll(java.util.List)} and {@link Sessions}. It is
+     * useful to not overload the session which is used by instances, e.g. a browser. Returns read value or {@code 4}
+     * when nothing is defined.
+     */
+    GET_ALL_PARALLELISM("get.all.parallelism", 4),
+
+    /**
+     * Reads property {@code "waiting.engine.threads"}. It is the count of threads which make attempts of waiting
+     * functions applied by {@link WaitingEngine}. Threads are not blocked between attempts, so a few threads serve
+     * many concurrent waitings. Returns read value or {@code 2} when nothing is defined.
+     */
+    WAITING_ENGINE_THREADS("waiting.engine.threads", 2),
+
+    /**
+     * Reads property {@code "condition.check.parallelism"}. It is the max count of conditions which are checked
+     * at the same time for the same input value when conditions are checked in parallel, see
+     * {@link ConditionExecutors}. It is useful to not overload the session which is used to check elements,
+     * e.g. a browser. Returns read value or {@code 4} when nothing is defined.
+     */
+    CONDITION_CHECK_PARALLELISM("condition.check.parallelism", 4);
+
+    private final String propertyName;
+    private final int defaultValue;
+
+    StepExecutorProperties(String propertyName, int defaultValue) {
+        this.propertyName = propertyName;
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    @Override
+    public Integer get() {
+        int result = returnOptionalFromEnvironment()
+                .map(s -> Integer.parseInt(s.trim()))
+                .orElse(defaultValue);
+        checkArgument(result > 0, format("Property: %s. Value should be positive", this.toString()));
+        return result;
+    }
+}
@@ -0,0 +1,251 @@
+package com.github.toy.constructor.core.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.github.toy.constructor.core.api.StepExecutorProperties.GET_ALL_PARALLELISM;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.cache.CacheBuilder.newBuilder;
+import static java.lang.String.format;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Executes steps which are started by {@link GetStep#getAsync(java.util.function.Function)} and
+ * {@link PerformStep#performAsync(java.util.function.Consumer)}. Asynchronous steps of the same instance
+ * are executed one by one in the order they were started. So they are reported in the same order.
+ * Steps of different instances are executed concurrently.
+ * <p>
+ * Values which are got by {@link GetStep#getAll(java.util.List)} are got concurrently.
+ * Count of values which are got for the same session at the same time is limited
+ * by {@link StepExecutorProperties#GET_ALL_PARALLELISM}. The session of an instance is resolved by {@link Sessions}.
+ */
+public final class StepExecutors {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService DEFAULT = newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, format("async-step-%s", THREAD_COUNTER.incrementAndGet()));
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Queues of asynchronous steps of each instance. Keys are weak and they are compared by identity.
+     */
+    private static final Map<Object, BoundedExecutor> QUEUES = newBuilder().weakKeys()
+            .<Object, BoundedExecutor>build().asMap();
+    /**
+     * Queues of values which are got concurrently for each session. Keys are weak and they are compared by identity.
+     */
+    private static final Map<Object, BoundedExecutor> FAN_OUTS = newBuilder().weakKeys()
+            .<Object, BoundedExecutor>build().asMap();
+
+    /**
+     * Session which value is got by the current thread concurrently with other values.
+     */
+    private static final ThreadLocal<Object> FAN_OUT_SESSION = new ThreadLocal<>();
+
+    /**
+     * Instances which queues are occupied by asynchronous steps which the current thread performs or which wait
+     * for the current thread.
+     */
+    private static final ThreadLocal<Set<Object>> ASYNC_INSTANCES = ThreadLocal.withInitial(Collections::emptySet);
+
+    private static volatile Executor defaultExecutor = DEFAULT;
+
+    private StepExecutors() {
+        super();
+    }
+
+    /**
+     * @return executor which is used by asynchronous steps when no executor is given.
+     */
+    public static Executor getDefaultExecutor() {
+        return defaultExecutor;
+    }
+
+    /**
+     * Sets the executor which is used by asynchronous steps when no executor is given. The cached pool
+     * of daemon threads is used by default.
+     *
+     * @param executor to use. {@code null} restores the default executor.
+     */
+    public static void setDefaultExecutor(Executor executor) {
+        defaultExecutor = executor == null ? DEFAULT : executor;
+    }
+
+    /**
+     * Submits the step to the queue. Waitings which are performed by the step are not longer than the time
+     * which remains for the waiting which submits it.
+     *
+     * @param instances which queues are occupied when the step is performed
+     */
+    private static <T> CompletableFuture<T> submit(BoundedExecutor queue, Supplier<T> step, Executor executor,
+                                                   Set<Object> instances) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Long deadline = FluentWaitFunction.currentDeadline();
+        queue.execute(() -> {
+            Set<Object> previous = ASYNC_INSTANCES.get();
+            ASYNC_INSTANCES.set(instances);
+            try {
+                future.complete(FluentWaitFunction.withinDeadline(deadline, step));
+            }
+            catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+            finally {
+                ASYNC_INSTANCES.set(previous);
+            }
+        }, future, executor);
+        return future;
+    }
+
+    /**
+     * Performs the step after previous asynchronous steps of the instance. The step is performed at once
+     * in the current thread when the queue of the instance is occupied by the step which performs the current
+     * thread or which waits for it. It prevents the deadlock when an asynchronous step joins the nested
+     * asynchronous step of the same instance.
+     */
+    static <T> CompletableFuture<T> supplyAsync(Object instance, Supplier<T> step, Executor executor) {
+        checkArgument(executor != null, "Executor should be defined");
+        Set<Object> occupied = ASYNC_INSTANCES.get();
+        if (occupied.contains(instance)) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            try {
+                future.complete(step.get());
+            }
+            catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+            return future;
+        }
+
+        Set<Object> instances = newSetFromMap(new IdentityHashMap<>());
+        instances.addAll(occupied);
+        instances.add(instance);
+        return submit(QUEUES.computeIfAbsent(instance, o -> new BoundedExecutor(1)), step, executor,
+                unmodifiableSet(instances));
+    }
+
+    /**
+     * Gets values concurrently and returns them in the same order as steps are given. Values are got
+     * one by one in the current thread when it already gets some value of the same session concurrently.
+     * It prevents the deadlock when all permitted threads wait for nested values.
+     */
+    static List<Object> getAll(Object instance, List<Supplier<?>> steps) {
+        Object session = Sessions.getSession(instance);
+        if (FAN_OUT_SESSION.get() == session) {
+            return steps.stream().<Object>map(Supplier::get).collect(toList());
+        }
+
+        BoundedExecutor queue = FAN_OUTS.computeIfAbsent(session,
+                o -> new BoundedExecutor(GET_ALL_PARALLELISM.get()));
+        Executor executor = defaultExecutor;
+        Set<Object> instances = ASYNC_INSTANCES.get();
+        List<CompletableFuture<?>> futures = steps.stream()
+                .map(step -> submit(queue, () -> {
+                    FAN_OUT_SESSION.set(session);
+                    try {
+                        return step.get();
+                    }
+                    finally {
+                        FAN_OUT_SESSION.remove();
+                    }
+                }, executor, instances))
+                .collect(toList());
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(throwable -> null)
+                .join();
+
+        List<Object> result = new ArrayList<>(futures.size());
+        for (CompletableFuture<?> future : futures) {
+            try {
+                result.add(future.join());
+            }
+            catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Passes tasks to the given executors. Count of tasks which are performed at the same time is limited.
+     * Tasks are started in the order they were added. When the limit is {@code 1} then the next task
+     * is started when the previous one is finished.
+     */
+    private static final class BoundedExecutor {
+        private final Queue<Task> tasks = new ArrayDeque<>();
+        private final int limit;
+        private int running;
+
+        private BoundedExecutor(int limit) {
+            this.limit = limit;
+        }
+
+        synchronized void execute(Runnable runnable, CompletableFuture<?> future, Executor executor) {
+            tasks.add(new Task(() -> {
+                try {
+                    runnable.run();
+                }
+                finally {
+                    finished();
+                }
+            }, future, executor));
+            scheduleNext();
+        }
+
+        private synchronized void finished() {
+            running--;
+            scheduleNext();
+        }
+
+        private synchronized void scheduleNext() {
+            Task next;
+            while (running < limit && (next = tasks.poll()) != null) {
+                try {
+                    running++;
+                    next.executor.execute(next.runnable);
+                }
+                catch (RejectedExecutionException e) {
+                    running--;
+                    next.future.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private static final class Task {
+        private final Runnable runnable;
+        private final CompletableFuture<?> future;
+        private final Executor executor;
+
+        private Task(Runnable runnable, CompletableFuture<?> future, Executor executor) {
+            this.runnable = runnable;
+            this.future = future;
+            this.executor = executor;
+        }
+    }
+}
@@ -3,12 +3,18 @@ package com.github.toy.constructor.core.api;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Suppliers.memoize;
+import static com.google.common.base.Suppliers.ofInstance;
+import static java.lang.String.format;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
 public final class StoryWriter {
 
+    static final String NO_DESCRIPTION = "<no description>";
+
     /**
      * This method creates a consumer with some string description. This consumer is
      * supposed to perform some action.
@@ -23,6 +29,21 @@ public final class StoryWriter {
         return new DescribedConsumer<>(description, consumer);
     }
 
+    /**
+     * This method creates a consumer with some lazy string description. This consumer is
+     * supposed to perform some action. The description is built once when it is asked at the first time.
+     * A blank description is not checked at once, it is described as {@code <no description>}.
+     *
+     * @param description supplier of the string narration of the action
+     * @param consumer which performs the action
+     * @param <T> type of accepted value
+     * @return a new consumer with the given string description. Description is returned
+     * by the {@link #toString()} method.
+     */
+    public static <T> Consumer<T> action(Supplier<String> description, Consumer<T> consumer) {
+        return new DescribedConsumer<>(description, consumer);
+    }
+
     /**
      * This method creates a function with some string description. This function is
      * supposed to get some value.
@@ -37,6 +58,21 @@ public final class StoryWriter {
         return new DescribedFunction<>(description, function);
     }
 
+    /**
+     * This method creates a function with some lazy string description. This function is
+     * supposed to get some value. The description is built once when it is asked at the first time.
+     * A blank description is not checked at once, it is described as {@code <no description>}.
+     *
+     * @param description supplier of the string narration of the getting value
+     * @param function which gets the needed value
+     * @param <T> type of the input value
+     * @return a new function with the given string description. Description is returned
+     * by the {@link #toString()} method.
+     */
+    public static <T, R> Function<T, R> toGet(Supplier<String> description, Function<T, R> function) {
+        return new DescribedFunction<>(description, function);
+    }
+
     /**
      * This method creates a predicate with some string description. This predicate is
      * supposed to be used as some condition or filter.
@@ -49,6 +85,23 @@ public final class StoryWriter {
      */
     public static <T> Predicate<T> condition(String description, Predicate<T> predicate) {
         checkArgument(!isBlank(description), "Description should not be empty");
+        return condition(ofInstance(description), predicate);
+    }
+
+    /**
+     * This method creates a predicate with some lazy string description. This predicate is
+     * supposed to be used as some condition or filter. The description is built once when it is asked
+     * at the first time. A blank description is not checked at once, it is described as {@code <no description>}.
+     *
+     * @param description supplier of the string narration of the condition
+     * @param predicate which checks some input value
+     * @param <T> type of the input value
+     * @return a new predicate with the given string description. Description is returned
+     * by the {@link #toString()} method.
+     */
+    public static <T> Predicate<T> condition(Supplier<String> description, Predicate<T> predicate) {
+        checkArgument(description != null, "Description should be defined");
+        Supplier<String> rendered = rendered(description);
         return new DescribedPredicate<>() {
             @Override
             public boolean test(T t) {
@@ -57,8 +110,30 @@ public final class StoryWriter {
 
             @Override
             public String toString() {
-                return description;
+                return rendered.get();
             }
         };
     }
+
+    /**
+     * Wraps the supplier of a description. The description is built once when it is asked at the first time.
+     * It is usually asked by loggers and by messages of exceptions. So the built description is not checked
+     * by throwing of exceptions. {@link #NO_DESCRIPTION} is returned when the built description is blank and
+     * when the description can't be built.
+     *
+     * @param description supplier of the description
+     * @return supplier of the built description
+     */
+    static Supplier<String> rendered(Supplier<String> description) {
+        return memoize(() -> {
+            String result;
+            try {
+                result = description.get();
+            }
+            catch (RuntimeException e) {
+                return format("%s (%s)", NO_DESCRIPTION, e);
+            }
+            return isBlank(result) ? NO_DESCRIPTION : result;
+        });
+    }
 }
@@ -2,15 +2,19 @@ package com.github.toy.constructor.core.api;
 
 import javax.annotation.Nullable;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.*;
 
 import static com.github.toy.constructor.core.api.AsIsPredicate.AS_IS;
+import static com.github.toy.constructor.core.api.AttemptCacheProperties.ATTEMPT_CACHE;
+import static com.github.toy.constructor.core.api.PollingProperties.DEFAULT_POLLING_STRATEGY;
 import static com.github.toy.constructor.core.api.StoryWriter.condition;
 import static com.github.toy.constructor.core.api.StoryWriter.toGet;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Suppliers.memoize;
+import static com.google.common.collect.Lists.newArrayList;
 import static java.lang.String.format;
-import static java.lang.System.currentTimeMillis;
-import static java.lang.Thread.sleep;
 import static java.time.Duration.ofMillis;
 import static java.util.Optional.ofNullable;
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -31,17 +35,76 @@ final class ToGetConditionalHelper {
                 .and(condition);
     }
 
-    static boolean returnFalseOrThrowException(Throwable t, boolean ignoreExceptionOnConditionCheck) {
-        String message = format("%s was caught. Message: %s", t.getClass().getName(), t.getMessage());
+    static boolean returnFalseOrThrowException(Throwable t, Predicate<?> condition,
+                                               boolean ignoreExceptionOnConditionCheck) {
+        return returnFalseOrThrowException(t, condition, ignoreExceptionOnConditionCheck,
+                IgnoredExceptions.current());
+    }
+
+    /**
+     * Ignored exception is recorded by the given aggregator of the waiting. It is logged at once when there is
+     * no waiting.
+     */
+    static boolean returnFalseOrThrowException(Throwable t, Predicate<?> condition,
+                                               boolean ignoreExceptionOnConditionCheck,
+                                               @Nullable IgnoredExceptions ignored) {
         if (!ignoreExceptionOnConditionCheck) {
-            throw new CheckConditionException(message, t);
+            throw new CheckConditionException(format("%s was caught. Message: %s", t.getClass().getName(),
+                    t.getMessage()), t);
         }
 
-        System.err.println(message);
-        t.printStackTrace();
+        if (ignored != null) {
+            ignored.record(t);
+        }
+        else {
+            IgnoredExceptions.report(t, condition::toString);
+        }
         return false;
     }
 
+    /**
+     * Selects elements which differ from null and suit the condition. Elements are checked in one pass and
+     * the given iterable is not changed. Checking is finished when the limit of selected elements is reached.
+     * Elements are checked concurrently by {@link ConditionExecutors} when it is needed.
+     *
+     * @return list of selected elements in the same order as they are iterated.
+     */
+    static <R> List<R> selectSuitable(@Nullable Object input,
+                                      Iterable<R> iterable,
+                                      Predicate<? super R> condition,
+                                      boolean checkConditionInParallel,
+                                      boolean ignoreExceptionOnConditionCheck,
+                                      int limit) {
+        Predicate<? super R> checked = notNullAnd(condition);
+        IgnoredExceptions ignored = IgnoredExceptions.current();
+        Predicate<R> suitable = r -> {
+            try {
+                return checked.test(r);
+            } catch (Throwable t1) {
+                return returnFalseOrThrowException(t1, condition, ignoreExceptionOnConditionCheck, ignored);
+            }
+        };
+
+        if (checkConditionInParallel) {
+            List<R> elements = iterable instanceof List ? (List<R>) iterable : newArrayList(iterable);
+            AttemptCache cache = AttemptCache.current();
+            Long deadline = FluentWaitFunction.currentDeadline();
+            return ConditionExecutors.select(input, elements, r -> FluentWaitFunction.withinDeadline(deadline,
+                    () -> AttemptCache.within(cache, () -> suitable.test(r))), limit);
+        }
+
+        List<R> result = new ArrayList<>();
+        for (R r : iterable) {
+            if (suitable.test(r)) {
+                result.add(r);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
     static void checkCondition(Predicate<?> condition) {
         checkArgument(condition != null, "Predicate is not defined.");
         checkArgument(DescribedPredicate.class.isAssignableFrom(condition.getClass()),
@@ -70,60 +133,48 @@ final class ToGetConditionalHelper {
                 "Supplier of an exception to be thrown is not defined");
     }
 
-    static String getDescription(String description, Function<?, ?> function, Predicate<?> condition) {
-        String resultDescription;
-        if (!isBlank(description)) {
-            resultDescription =  description.trim();
-        }
-        else {
-            resultDescription = function.toString().trim();
-        }
+    static Supplier<String> getDescription(String description, Function<?, ?> function, Predicate<?> condition) {
+        return () -> {
+            String resultDescription;
+            if (!isBlank(description)) {
+                resultDescription =  description.trim();
+            }
+            else {
+                resultDescription = function.toString().trim();
+            }
 
-        if (!AS_IS.equals(condition)) {
-            resultDescription = format("%s with condition %s", resultDescription, condition).trim();
-        }
+            if (!AS_IS.equals(condition)) {
+                resultDescription = format("%s with condition %s", resultDescription, condition).trim();
+            }
 
-        return resultDescription;
+            return resultDescription;
+        };
     }
 
-    static <T, F> Function<T, F> fluentWaitFunction(String description,
+    /**
+     * Creates the function which waits for a valuable result. When it is applied inside another waiting function
+     * then it waits not longer than the time which remains from the outer waiting. The result is returned as soon
+     * as it is valuable. Sleeping between attempts is defined by {@link PollingProperties#DEFAULT_POLLING_STRATEGY}.
+     * Statistics of the waiting are recorded by {@link WaitingMetrics} for the given description. Exceptions which are
+     * ignored on condition checks are aggregated by {@link IgnoredExceptions}. Values
+     * which are read by an attempt are cached by {@link AttemptCache} when it is turned on.
+     */
+    static <T, F> Function<T, F> fluentWaitFunction(Supplier<String> description,
                                                     Function<T, F> originalFunction,
                                                     @Nullable Duration waitingTime,
                                                     @Nullable Duration sleepingTime,
                                                     Predicate<F> till,
                                                     @Nullable Supplier<? extends RuntimeException> exceptionOnTimeOut) {
-        String fullDescription = description;
+        Supplier<String> valueDescription = memoize(description::get);
+        Supplier<String> fullDescription = valueDescription;
         if (waitingTime != null) {
-            fullDescription = format("%s. Time to get valuable result: %s", fullDescription,
+            fullDescription = () -> format("%s. Time to get valuable result: %s", valueDescription.get(),
                     formatDuration(waitingTime.toMillis(), "H:mm:ss:SSS", true));
         }
-        Duration timeOut = ofNullable(waitingTime).orElseGet(() -> ofMillis(0));
         Duration sleeping = ofNullable(sleepingTime).orElseGet(() -> ofMillis(50));
 
-        return toGet(fullDescription, t -> {
-            long currentMillis = currentTimeMillis();
-            long endMillis = currentMillis + timeOut.toMillis() + 100;
-
-            F f = null;
-            boolean suitable = false;
-            while (currentTimeMillis() < endMillis && !(suitable)) {
-                suitable = till.test(f = originalFunction.apply(t));
-                try {
-                    sleep(sleeping.toMillis());
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException(e);
-                }
-            }
-
-            if (suitable) {
-                return f;
-            }
-
-            return (F) ofNullable(exceptionOnTimeOut).map(exceptionSupplier1 -> {
-                throw exceptionOnTimeOut.get();
-            }).orElse(f);
-        });
+        return toGet(fullDescription, new FluentWaitFunction<>(valueDescription, originalFunction, waitingTime,
+                sleeping, till, exceptionOnTimeOut, DEFAULT_POLLING_STRATEGY.get(), ATTEMPT_CACHE.get()));
     }
 
 
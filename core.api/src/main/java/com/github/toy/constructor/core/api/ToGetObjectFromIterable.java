@@ -10,7 +10,6 @@ import java.util.function.Supplier;
 import static com.github.toy.constructor.core.api.AsIsPredicate.AS_IS;
 import static com.github.toy.constructor.core.api.ToGetConditionalHelper.*;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.StreamSupport.stream;
 
 public final class ToGetObjectFromIterable {
 
@@ -28,13 +27,8 @@ public final class ToGetObjectFromIterable {
                                                                                    @Nullable Supplier<? extends RuntimeException> exceptionOnTimeOut) {
         return fluentWaitFunction(getDescription(description, function, condition), t ->
                         ofNullable(function.apply(t))
-                                .map(v -> stream(v.spliterator(), checkConditionInParallel).filter(r -> {
-                                    try {
-                                        return notNullAnd(condition).test(r);
-                                    } catch (Throwable t1) {
-                                        return returnFalseOrThrowException(t1, ignoreExceptionOnConditionCheck);
-                                    }
-                                }).findFirst().orElse(null))
+                                .map(v -> selectSuitable(t, v, condition, checkConditionInParallel,
+                                        ignoreExceptionOnConditionCheck, 1).stream().findFirst().orElse(null))
                                 .orElse(null),
                 waitingTime, sleepingTime, Objects::nonNull, exceptionOnTimeOut);
     }
@@ -31,7 +31,7 @@ public final class ToGetSingleCheckedObject {
                                 }
                             }
                             catch (Throwable t1) {
-                                returnFalseOrThrowException(t1, ignoreExceptionOnConditionCheck);
+                                returnFalseOrThrowException(t1, condition, ignoreExceptionOnConditionCheck);
                             }
                             return null;
                         }).orElse(null), waitingTime,
@@ -1,7 +1,5 @@
 package com.github.toy.constructor.core.api;
 
-import org.apache.commons.lang3.ArrayUtils;
-
 import java.time.Duration;
 import java.util.List;
 import java.util.function.Function;
@@ -10,10 +8,9 @@ import java.util.function.Supplier;
 
 import static com.github.toy.constructor.core.api.AsIsPredicate.AS_IS;
 import static com.github.toy.constructor.core.api.ToGetConditionalHelper.*;
+import static java.lang.reflect.Array.newInstance;
 import static java.util.Arrays.asList;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.StreamSupport.stream;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 
 public final class ToGetSubArray {
@@ -29,21 +26,27 @@ public final class ToGetSubArray {
                                                  boolean checkConditionInParallel,
                                                  boolean ignoreExceptionOnConditionCheck,
                                                  Supplier<? extends RuntimeException> exceptionOnTimeOut) {
+        return array(function, condition, waitingTime, sleepingTime, checkConditionInParallel,
+                ignoreExceptionOnConditionCheck, exceptionOnTimeOut, Integer.MAX_VALUE);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, R> Function<T, R[]> array(Function<T, R[]> function,
+                                         Predicate<? super R> condition,
+                                         Duration waitingTime,
+                                         Duration sleepingTime,
+                                         boolean checkConditionInParallel,
+                                         boolean ignoreExceptionOnConditionCheck,
+                                         Supplier<? extends RuntimeException> exceptionOnTimeOut,
+                                         int limit) {
         return fluentWaitFunction(getDescription(EMPTY, function, condition), t ->
                         ofNullable(function.apply(t)).map(rs -> {
-                            List<R> subResult = stream(asList(rs).spliterator(), checkConditionInParallel).filter(r -> {
-                                try {
-                                    return !notNullAnd(condition).test(r);
-                                } catch (Throwable t1) {
-                                    return !returnFalseOrThrowException(t1, ignoreExceptionOnConditionCheck);
-                                }
-                            }).collect(toList());
-
-                            R[] result = rs;
-                            for (R r: subResult) {
-                                result = ArrayUtils.removeElement(result, r);
+                            List<R> selected = selectSuitable(t, asList(rs), condition, checkConditionInParallel,
+                                    ignoreExceptionOnConditionCheck, limit);
+                            if (selected.size() == rs.length) {
+                                return rs;
                             }
-                            return result;
+                            return selected.toArray((R[]) newInstance(rs.getClass().getComponentType(), 0));
                         }).orElse(null),
                 waitingTime, sleepingTime, rs -> rs != null && rs.length > 0, exceptionOnTimeOut);
     }
@@ -4,16 +4,24 @@ import com.google.common.collect.Iterables;
 
 import javax.annotation.Nullable;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import static com.github.toy.constructor.core.api.AsIsPredicate.AS_IS;
 import static com.github.toy.constructor.core.api.ToGetConditionalHelper.*;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.StreamSupport.stream;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 
 public final class ToGetSubIterable {
@@ -29,21 +37,81 @@ public final class ToGetSubIterable {
                                                                          boolean checkConditionInParallel,
                                                                          boolean ignoreExceptionOnConditionCheck,
                                                                          @Nullable Supplier<? extends RuntimeException> exceptionOnTimeOut) {
-        return fluentWaitFunction(getDescription(EMPTY, function, condition), t ->
+        return iterable(EMPTY, function, condition, Integer.MAX_VALUE, count -> true, waitingTime, sleepingTime,
+                checkConditionInParallel, ignoreExceptionOnConditionCheck, exceptionOnTimeOut);
+    }
+
+    /**
+     * Creates the function which selects not more than {@code limit} suitable elements. Checking of the condition
+     * is finished as soon as the limit is reached. Selected elements are returned when their count suits
+     * the {@code enough} criteria. {@code null} is returned otherwise.
+     */
+    private static <T, R, V extends Iterable<R>> Function<T, V> iterable(String quantity,
+                                                                         Function<T, V> function,
+                                                                         Predicate<? super R> condition,
+                                                                         int limit,
+                                                                         IntPredicate enough,
+                                                                         @Nullable Duration waitingTime,
+                                                                         @Nullable Duration sleepingTime,
+                                                                         boolean checkConditionInParallel,
+                                                                         boolean ignoreExceptionOnConditionCheck,
+                                                                         @Nullable Supplier<? extends RuntimeException> exceptionOnTimeOut) {
+        Supplier<String> description = getDescription(EMPTY, function, condition);
+        return fluentWaitFunction(() -> format("%s %s", quantity, description.get()).trim(), t ->
                         ofNullable(function.apply(t)).map(v -> {
-                            List<R> result = stream(v.spliterator(), checkConditionInParallel).filter(r -> {
-                                try {
-                                    return !notNullAnd(condition).test(r);
-                                } catch (Throwable t1) {
-                                    return !returnFalseOrThrowException(t1, ignoreExceptionOnConditionCheck);
-                                }
-                            }).collect(toList());
-
-                            Iterables.removeAll(v, result);
-                            return v;
+                            List<R> selected = selectSuitable(t, v, condition, checkConditionInParallel,
+                                    ignoreExceptionOnConditionCheck, limit);
+                            return enough.test(selected.size()) ? subIterable(v, selected) : null;
                         }).orElse(null),
-                waitingTime, sleepingTime, v -> v != null && Iterables.size(v) > 0, exceptionOnTimeOut);
+                waitingTime, sleepingTime, v -> v != null && !Iterables.isEmpty(v), exceptionOnTimeOut);
+    }
 
+    private static void checkCount(int count) {
+        checkArgument(count > 0, format("Count of elements should be greater than zero. %s was defined", count));
+    }
+
+    /**
+     * Returns selected elements. The given iterable is never changed. It is returned as it is when all its
+     * elements are selected.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R, V extends Iterable<R>> V subIterable(V v, List<R> selected) {
+        if (v instanceof Collection && ((Collection<?>) v).size() == selected.size()) {
+            return v;
+        }
+
+        Collection<R> result = newCollection(v);
+        result.addAll(selected);
+        //the result is of the same class as the given iterable, or it is the common collection of the same kind
+        return (V) result;
+    }
+
+    /**
+     * Creates an empty collection of the same class as the given iterable when the class has a public constructor.
+     * The comparator of a sorted set is kept. A {@link TreeSet}, {@link LinkedHashSet} or {@link ArrayList}
+     * is created otherwise, e.g. for immutable collections.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> Collection<R> newCollection(Iterable<R> v) {
+        Comparator<? super R> comparator = v instanceof SortedSet ? ((SortedSet<R>) v).comparator() : null;
+        if (v instanceof Collection) {
+            try {
+                //instances of the class of a collection of R are collections of R
+                return comparator == null ? (Collection<R>) v.getClass().getConstructor().newInstance() :
+                        (Collection<R>) v.getClass().getConstructor(Comparator.class).newInstance(comparator);
+            }
+            catch (ReflectiveOperationException | RuntimeException e) {
+                //the class can't be instantiated, so the common collection is created below
+            }
+        }
+
+        if (v instanceof SortedSet) {
+            return new TreeSet<>(comparator);
+        }
+        if (v instanceof Set) {
+            return new LinkedHashSet<>();
+        }
+        return new ArrayList<>();
     }
 
     /**
@@ -357,4 +425,352 @@ public final class ToGetSubIterable {
         return iterable(function, condition, null, null,
                 checkConditionInParallel, ignoreExceptionOnConditionCheck, null);
     }
+
+    /**
+     * This method returns a function. The result function returns an {@link Iterable} of the first {@code count} elements
+     * which differ from null and suit the criteria. Checking of the condition is finished as soon as
+     * {@code count} suitable elements are found.
+     *
+     * @param function described function which should return {@link Iterable}
+     * @param condition described predicate which is used to find some target value
+     * @param count is the count of elements to be selected
+     * @param waitingTime is a duration of the waiting for valuable result
+     * @param sleepingTime is a duration of the sleeping between attempts to get
+     *                     expected valuable result
+     * @param checkConditionInParallel is how iterable should be matched. If {@code true} when each value will be
+     *                                 checked in parallel.
+     * @param ignoreExceptionOnConditionCheck is used to define what should be done when check is failed
+     *                                        and some exception is thrown. Exception will be thrown when
+     *                                        {@code true}.
+     * @param exceptionOnTimeOut is a supplier which returns the exception to be thrown on the waiting time
+     *                           expiration
+     * @param <T> is a type of input value
+     * @param <R> is a type of target values
+     * @param <V> is a type of {@link Iterable} of {@code R}
+     * @return a function. It returns not empty iterable of {@code count} elements or less when there are such
+     * elements. Some exception is thrown otherwise.
+     */
+    public static <T, R, V extends Iterable<R>> Function<T, V> getFirst(Function<T, V> function,
+                                                                        Predicate<? super R> condition,
+                                                                        int count,
+                                                                        Duration waitingTime,
+                                                                        Duration sleepingTime,
+                                                                        boolean checkConditionInParallel,
+                                                                        boolean ignoreExceptionOnConditionCheck,
+                                                                        Supplier<? extends RuntimeException> exceptionOnTimeOut) {
+        checkFunction(function);
+        checkCondition(condition);
+        checkCount(count);
+        checkWaitingTime(waitingTime);
+        checkSleepingTime(sleepingTime);
+        checkExceptionSupplier(exceptionOnTimeOut);
+        return iterable(format("First %s of", count), function, condition, count, i -> i > 0,
+                waitingTime, sleepingTime, checkConditionInParallel, ignoreExceptionOnConditionCheck, exceptionOnTimeOut);
+    }
+
+    /**
+     * This method returns a function. The result function returns an {@link Iterable} of the first {@code count} elements
+     * which differ from null and suit the criteria. Checking of the condition is finished as soon as
+     * {@code count} suitable elements are found.
+     *
+     * @param function described function which should return {@link Iterable}
+     * @param condition described predicate which is used to find some target value
+     * @param count is the count of elements to be selected
+     * @param checkConditionInParallel is how iterable should be matched. If {@code true} when each value will be
+     *                                 checked in parallel.
+     * @param ignoreExceptionOnConditionCheck is used to define what should be done when check is failed
+     *                                        and some exception is thrown. Exception will be thrown when
+     *                                        {@code true}.
+     * @param exceptionOnTimeOut is a supplier which returns the exception to be thrown on the waiting time
+     *                           expiration
+     * @param <T> is a type of input value
+     * @param <R> is a type of target values
+     * @param <V> is a type of {@link Iterable} of {@code R}
+     * @return a function. It returns not empty iterable of {@code count} elements or less when there are such
+     * elements. Some exception is thrown otherwise.
+     */
+    public static <T, R, V extends Iterable<R>> Function<T, V> getFirst(Function<T, V> function,
+                                                                        Predicate<? super R> condition,
+                                                                        int count,
+                                                                        boolean checkConditionInParallel,
+                                                                        boolean ignoreExceptionOnConditionCheck,
+                                                                        Supplier<? extends RuntimeException> exceptionOnTimeOut) {
+        checkFunction(function);
+        checkCondition(condition);
+        checkCount(count);
+        checkExceptionSupplier(exceptionOnTimeOut);
+        return iterable(format("First %s of", count), function, condition, count, i -> i > 0,
+                null, null, checkConditionInParallel, ignoreExceptionOnConditionCheck, exceptionOnTimeOut);
+    }
+
+    /**
+     * This method returns a function. The result function returns an {@link Iterable} of the first {@code count} elements
+     * which differ from null and suit the criteria. Checking of the condition is finished as soon as
+     * {@code count} suitable elements are found.
+     *
+     * @param function described function which should return {@link Iterable}
+     * @param condition described predicate which is used to find some target value
+     * @param count is the count of elements to be selected
+     * @param waitingTime is a duration of the waiting for valuable result
+     * @param sleepingTime is a duration of the sleeping between attempts to get
+     *                     expected valuable result
+     * @param checkConditionInParallel is how iterable should be matched. If {@code true} when each value will be
+     *                                 checked in parallel.
+     * @param ignoreExceptionOnConditionCheck is used to define what should be done when check is failed
+     *                                        and some exception is thrown. Exception will be thrown when
+     *                                        {@code true}.
+     * @param <T> is a type of input value
+     * @param <R> is a type of target values
+     * @param <V> is a type of {@link Iterable} of {@code R}
+     * @return a function. It returns not empty iterable of {@code count} elements or less when there are such
+     * elements. {@code null} is returned otherwise.
+     */
+    public static <T, R, V extends Iterable<R>> Function<T, V> getFirst(Function<T, V> function,
+                                                                        Predicate<? super R> condition,
+                                                                        int count,
+                                                                        Duration waitingTime,
+                                                                        Duration sleepingTime,
+                                                                        boolean checkConditionInParallel,
+                                                                        boolean ignoreExceptionOnConditionCheck) {
+        checkFunction(function);
+        checkCondition(condition);
+        checkCount(count);
+        checkWaitingTime(waitingTime);
+        checkSleepingTime(sleepingTime);
+        return iterable(format("First %s of", count), function, condition, count, i -> i > 0,
+                waitingTime, sleepingTime, checkConditionInParallel, ignoreExceptionOnConditionCheck, null);
+    }
+
+    /**
+     * This method returns a function. The result function returns an {@link Iterable} of {@code count} elements
+     * which differ from null and suit the criteria. Checking of the condition is finished as soon as
+     * {@code count} suitable elements are found, so it is useful to check that there are at least {@code count}
+     * such elements.
+     *
+     * @param function described function which should return {@link Iterable}
+     * @param condition described predicate which is used to find some target value
+     * @param count is the count of elements to be selected
+     * @param waitingTime is a duration of the waiting for valuable result
+     * @param sleepingTime is a duration of the sleeping between attempts to get
+     *                     expected valuable result
+     * @param checkConditionInParallel is how iterable should be matched. If {@code true} when each value will be
+     *                                 checked in parallel.
+     * @param ignoreExceptionOnConditionCheck is used to define what should be done when check is failed
+     *                                        and some exception is thrown. Exception will be thrown when
+     *                                        {@code true}.
+     * @param exceptionOnTimeOut is a supplier which returns the exception to be thrown on the waiting time
+     *                           expiration
+     * @param <T> is a type of input value
+     * @param <R> is a type of target values
+     * @param <V> is a type of {@link Iterable} of {@code R}
+     * @return a function. It returns the iterable of {@code count} elements when there are at least {@code count}
+     * such elements. Some exception is thrown otherwise.
+     */
+    public static <T, R, V extends Iterable<R>> Function<T, V> getAtLeast(Function<T, V> function,
+                                                                          Predicate<? super R> condition,
+                                                                          int count,
+                                                                          Duration waitingTime,
+                                                                          Duration sleepingTime,
+                                                                          boolean checkConditionInParallel,
+                                                                          boolean ignoreExceptionOnConditionCheck,
+                                                                          Supplier<? extends RuntimeException> exceptionOnTimeOut) {
+        checkFunction(function);
+        checkCondition(condition);
+        checkCount(count);
+        checkWaitingTime(waitingTime);
+        checkSleepingTime(sleepingTime);
+        checkExceptionSupplier(exceptionOnTimeOut);
+        return iterable(format("At least %s of", count), function, condition, count, i -> i >= count,
+                waitingTime, sleepingTime, checkConditionInParallel, ignoreExceptionOnConditionCheck, exceptionOnTimeOut);
+    }
+
+    /**
+     * This method returns a function. The result function returns an {@link Iterable} of {@code count} elements
+     * which differ from null and suit the criteria. Checking of the condition is finished as soon as
+     * {@code count} suitable elements are found, so it is useful to check that there are at least {@code count}
+     * such elements.
+     *
+     * @param function described function which should return {@link Iterable}
+     * @param condition described predicate which is used to find some target value
+     * @param count is the count of elements to be selected
+     * @param checkConditionInParallel is how iterable should be matched. If {@code true} when each value will be
+     *                                 checked in parallel.
+     * @param ignoreExceptionOnConditionCheck is used to define what should be done when check is failed
+     *                                        and some exception is thrown. Exception will be thrown when
+     *                                        {@code true}.
+     * @param exceptionOnTimeOut is a supplier which returns the exception to be thrown on the waiting time
+     *                           expiration
+     * @param <T> is a type of input value
+     * @param <R> is a type of target values
+     * @param <V> is a type of {@link Iterable} of {@code R}
+     * @return a function. It returns the iterable of {@code count} elements when there are at least {@code count}
+     * such elements. Some exception is thrown otherwise.
+     */
+    public static <T, R, V extends Iterable<R>> Function<T, V> getAtLeast(Function<T, V> function,
+                                                                          Predicate<? super R> condition,
+                                                                          int count,
+                                                                          boolean checkConditionInParallel,
+                                                                          boolean ignoreExceptionOnConditionCheck,
+                                                                          Supplier<? extends RuntimeException> exceptionOnTimeOut) {
+        checkFunction(function);
+        checkCondition(condition);
+        checkCount(count);
+        checkExceptionSupplier(exceptionOnTimeOut);
+        return iterable(format("At least %s of", count), function, condition, count, i -> i >= count,
+                null, null, checkConditionInParallel, ignoreExceptionOnConditionCheck, exceptionOnTimeOut);
+    }
+
+    /**
+     * This method returns a function. The result function returns an {@link Iterable} of {@code count} elements
+     * which differ from null and suit the criteria. Checking of the condition is finished as soon as
+     * {@code count} suitable elements are found, so it is useful to check that there are at least {@code count}
+     * such elements.
+     *
+     * @param function described function which should return {@link Iterable}
+     * @param condition described predicate which is used to find some target value
+     * @param count is the count of elements to be selected
+     * @param waitingTime is a duration of the waiting for valuable result
+     * @param sleepingTime is a duration of the sleeping between attempts to get
+     *                     expected valuable result
+     * @param checkConditionInParallel is how iterable should be matched. If {@code true} when each value will be
+     *                                 checked in parallel.
+     * @param ignoreExceptionOnConditionCheck is used to define what should be done when check is failed
+     *                                        and some exception is thrown. Exception will be thrown when
+     *                                        {@code true}.
+     * @param <T> is a type of input value
+     * @param <R> is a type of target values
+     * @param <V> is a type of {@link Iterable} of {@code R}
+     * @return a function. It returns the iterable of {@code count} elements when there are at least {@code count}
+     * such elements. {@code null} is returned otherwise.
+     */
+    public static <T, R, V extends Iterable<R>> Function<T, V> getAtLeast(Function<T, V> function,
+                                                                          Predicate<? super R> condition,
+                                                                          int count,
+                                                                          Duration waitingTime,
+                                                                          Duration sleepingTime,
+                                                                          boolean checkConditionInParallel,
+                                                                          boolean ignoreExceptionOnConditionCheck) {
+        checkFunction(function);
+        checkCondition(condition);
+        checkCount(count);
+        checkWaitingTime(waitingTime);
+        checkSleepingTime(sleepingTime);
+        return iterable(format("At least %s of", count), function, condition, count, i -> i >= count,
+                waitingTime, sleepingTime, checkConditionInParallel, ignoreExceptionOnConditionCheck, null);
+    }
+
+    /**
+     * This method returns a function. The result function returns an {@link Iterable} of elements which differ from null
+     * and suit the criteria when there are exactly {@code count} such elements. Checking of the condition is finished
+     * as soon as more than {@code count} suitable elements are found.
+     *
+     * @param function described function which should return {@link Iterable}
+     * @param condition described predicate which is used to find some target value
+     * @param count is the count of elements to be selected
+     * @param waitingTime is a duration of the waiting for valuable result
+     * @param sleepingTime is a duration of the sleeping between attempts to get
+     *                     expected valuable result
+     * @param checkConditionInParallel is how iterable should be matched. If {@code true} when each value will be
+     *                                 checked in parallel.
+     * @param ignoreExceptionOnConditionCheck is used to define what should be done when check is failed
+     *                                        and some exception is thrown. Exception will be thrown when
+     *                                        {@code true}.
+     * @param exceptionOnTimeOut is a supplier which returns the exception to be thrown on the waiting time
+     *                           expiration
+     * @param <T> is a type of input value
+     * @param <R> is a type of target values
+     * @param <V> is a type of {@link Iterable} of {@code R}
+     * @return a function. It returns the iterable of {@code count} elements when there are exactly {@code count}
+     * such elements. Some exception is thrown otherwise.
+     */
+    public static <T, R, V extends Iterable<R>> Function<T, V> getExactly(Function<T, V> function,
+                                                                          Predicate<? super R> condition,
+                                                                          int count,
+                                                                          Duration waitingTime,
+                                                                          Duration sleepingTime,
+                                                                          boolean checkConditionInParallel,
+                                                                          boolean ignoreExceptionOnConditionCheck,
+                                                                          Supplier<? extends RuntimeException> exceptionOnTimeOut) {
+        checkFunction(function);
+        checkCondition(condition);
+        checkCount(count);
+        checkWaitingTime(waitingTime);
+        checkSleepingTime(sleepingTime);
+        checkExceptionSupplier(exceptionOnTimeOut);
+        return iterable(format("Exactly %s of", count), function, condition, count + 1, i -> i == count,
+                waitingTime, sleepingTime, checkConditionInParallel, ignoreExceptionOnConditionCheck, exceptionOnTimeOut);
+    }
+
+    /**
+     * This method returns a function. The result function returns an {@link Iterable} of elements which differ from null
+     * and suit the criteria when there are exactly {@code count} such elements. Checking of the condition is finished
+     * as soon as more than {@code count} suitable elements are found.
+     *
+     * @param function described function which should return {@link Iterable}
+     * @param condition described predicate which is used to find some target value
+     * @param count is the count of elements to be selected
+     * @param checkConditionInParallel is how iterable should be matched. If {@code true} when each value will be
+     *                                 checked in parallel.
+     * @param ignoreExceptionOnConditionCheck is used to define what should be done when check is failed
+     *                                        and some exception is thrown. Exception will be thrown when
+     *                                        {@code true}.
+     * @param exceptionOnTimeOut is a supplier which returns the exception to be thrown on the waiting time
+     *                           expiration
+     * @param <T> is a type of input value
+     * @param <R> is a type of target values
+     * @param <V> is a type of {@link Iterable} of {@code R}
+     * @return a function. It returns the iterable of {@code count} elements when there are exactly {@code count}
+     * such elements. Some exception is thrown otherwise.
+     */
+    public static <T, R, V extends Iterable<R>> Function<T, V> getExactly(Function<T, V> function,
+                                                                          Predicate<? super R> condition,
+                                                                          int count,
+                                                                          boolean checkConditionInParallel,
+                                                                          boolean ignoreExceptionOnConditionCheck,
+                                                                          Supplier<? extends RuntimeException> exceptionOnTimeOut) {
+        checkFunction(function);
+        checkCondition(condition);
+        checkCount(count);
+        checkExceptionSupplier(exceptionOnTimeOut);
+        return iterable(format("Exactly %s of", count), function, condition, count + 1, i -> i == count,
+                null, null, checkConditionInParallel, ignoreExceptionOnConditionCheck, exceptionOnTimeOut);
+    }
+
+    /**
+     * This method returns a function. The result function returns an {@link Iterable} of elements which differ from null
+     * and suit the criteria when there are exactly {@code count} such elements. Checking of the condition is finished
+     * as soon as more than {@code count} suitable elements are found.
+     *
+     * @param function described function which should return {@link Iterable}
+     * @param condition described predicate which is used to find some target value
+     * @param count is the count of elements to be selected
+     * @param waitingTime is a duration of the waiting for valuable result
+     * @param sleepingTime is a duration of the sleeping between attempts to get
+     *                     expected valuable result
+     * @param checkConditionInParallel is how iterable should be matched. If {@code true} when each value will be
+     *                                 checked in parallel.
+     * @param ignoreExceptionOnConditionCheck is used to define what should be done when check is failed
+     *                                        and some exception is thrown. Exception will be thrown when
+     *                                        {@code true}.
+     * @param <T> is a type of input value
+     * @param <R> is a type of target values
+     * @param <V> is a type of {@link Iterable} of {@code R}
+     * @return a function. It returns the iterable of {@code count} elements when there are exactly {@code count}
+     * such elements. {@code null} is returned otherwise.
+     */
+    public static <T, R, V extends Iterable<R>> Function<T, V> getExactly(Function<T, V> function,
+                                                                          Predicate<? super R> condition,
+                                                                          int count,
+                                                                          Duration waitingTime,
+                                                                          Duration sleepingTime,
+                                                                          boolean checkConditionInParallel,
+                                                                          boolean ignoreExceptionOnConditionCheck) {
+        checkFunction(function);
+        checkCondition(condition);
+        checkCount(count);
+        checkWaitingTime(waitingTime);
+        checkSleepingTime(sleepingTime);
+        return iterable(format("Exactly %s of", count), function, condition, count + 1, i -> i == count,
+                waitingTime, sleepingTime, checkConditionInParallel, ignoreExceptionOnConditionCheck, null);
+    }
 }
@@ -0,0 +1,71 @@
+package com.github.toy.constructor.core.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.github.toy.constructor.core.api.StepExecutorProperties.WAITING_ENGINE_THREADS;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * Applies functions which wait for a valuable result without blocking of a thread per waiting. Functions created by
+ * {@link ToGetSingleCheckedObject}, {@link ToGetObjectFromIterable}, {@link ToGetObjectFromArray},
+ * {@link ToGetSubIterable} and {@link ToGetSubArray} make attempts by threads of the shared scheduler.
+ * Next attempt is scheduled after the sleeping, so hundreds of concurrent waitings need only a few threads.
+ * Count of threads is defined by {@link StepExecutorProperties#WAITING_ENGINE_THREADS}.
+ */
+public final class WaitingEngine {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private WaitingEngine() {
+        super();
+    }
+
+    /**
+     * Applies the function and returns the future of the result. The future is completed by the valuable result,
+     * by the last got result when the waiting time is over or exceptionally when some exception is thrown
+     * or it should be thrown on the waiting time expiration. A function which doesn't wait for a valuable result
+     * is applied by a thread of the scheduler as is.
+     *
+     * @param function described function which gets some value
+     * @param value is the input value
+     * @param <T> is a type of the input value
+     * @param <R> is a type of the result
+     * @return the future of the result
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R> CompletableFuture<R> applyAsync(Function<T, R> function, T value) {
+        checkArgument(function != null, "Function is not defined.");
+        ScheduledExecutorService scheduler = Scheduler.INSTANCE;
+        if (DescribedFunction.class.isAssignableFrom(function.getClass())) {
+            Function<T, R> described = ((DescribedFunction<T, R>) function).getFunction();
+            if (FluentWaitFunction.class.isAssignableFrom(described.getClass())) {
+                return ((FluentWaitFunction<T, R>) described).applyAsync(value, scheduler);
+            }
+        }
+        return supplyAsync(() -> function.apply(value), scheduler);
+    }
+
+    /**
+     * The scheduler is created when it is used at the first time.
+     */
+    private static final class Scheduler {
+        private static final ScheduledExecutorService INSTANCE = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(WAITING_ENGINE_THREADS.get(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, format("waiting-%s", THREAD_COUNTER.incrementAndGet()));
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
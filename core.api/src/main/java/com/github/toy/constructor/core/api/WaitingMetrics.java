@@ -0,0 +1,331 @@
+package com.github.toy.constructor.core.api;
+
+import com.github.toy.constructor.core.api.proxy.LoggerRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static com.github.toy.constructor.core.api.WaitingStatisticsProperties.AdaptiveWaitingProperties.ADAPTIVE_WAITING_FACTOR;
+import static com.github.toy.constructor.core.api.WaitingStatisticsProperties.WAITING_STATISTICS_FILE;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparing;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.apache.commons.lang3.time.DurationFormatUtils.formatDuration;
+
+/**
+ * Records statistics of functions which wait for a valuable result: count of attempts, time to get a valuable result
+ * and count of time-outs. Statistics are recorded for each description of the value which is waited for, e.g. it
+ * is a locator of elements. Recording is turned on by the property {@code 'waiting.statistics.file'}
+ * (see {@link WaitingStatisticsProperties#WAITING_STATISTICS_FILE}) or by {@link #setFile(Path)}. Statistics
+ * are read from the file when the recording is turned on, and they are saved to the file when the JVM is shut down
+ * or by {@link #save()}. Nothing is done on the shutdown when the recording was never turned on. Time-outs of waitings
+ * which are cut short by outer waitings are not recorded.
+ * <p>
+ * Waiting time becomes adaptive when the property {@code 'waiting.adaptive.factor'} is defined, see
+ * {@link WaitingStatisticsProperties.AdaptiveWaitingProperties#ADAPTIVE_WAITING_FACTOR}. Each adjustment
+ * is reported to loggers which are found by the {@link java.util.ServiceLoader} and it is available
+ * via {@link #getAdjustments()}.
+ */
+public final class WaitingMetrics {
+
+    /**
+     * Count of the most recent waitings which are taken into account to calculate percentiles.
+     */
+    private static final int MAX_SAMPLES = 100;
+    /**
+     * Waiting time is not adaptive until there are so many recent waitings which got a valuable result.
+     */
+    private static final int MIN_SAMPLES = 20;
+    /**
+     * Adaptive waiting time is not shorter than 1 second.
+     */
+    private static final long MIN_ADAPTIVE_MILLIS = 1000;
+    /**
+     * When there are so many different descriptions then waitings of new ones are not recorded.
+     */
+    private static final int MAX_WAITING_COUNT = 10_000;
+    private static final Map<String, WaitingRecord> RECORDS = new ConcurrentHashMap<>();
+    private static final List<String> ADJUSTMENTS = new CopyOnWriteArrayList<>();
+    private static volatile Path file;
+    private static boolean savedOnShutdown;
+
+    static {
+        Path defined = WAITING_STATISTICS_FILE.get();
+        if (defined != null) {
+            setFile(defined);
+        }
+    }
+
+    private WaitingMetrics() {
+        super();
+    }
+
+    /**
+     * @return are statistics of waitings recorded or not.
+     */
+    public static boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Turns the recording on or off. Recorded statistics are removed and statistics are read from the given file
+     * when it exists.
+     *
+     * @param file to keep statistics between runs. {@code null} turns the recording off.
+     */
+    public static synchronized void setFile(Path file) {
+        reset();
+        WaitingMetrics.file = file;
+        if (file != null && !savedOnShutdown) {
+            Runtime.getRuntime().addShutdownHook(new Thread(WaitingMetrics::save, "waiting-statistics-saving"));
+            savedOnShutdown = true;
+        }
+        if (file == null || !Files.exists(file)) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        }
+        catch (IOException e) {
+            throw new IllegalArgumentException(format("Statistics of waitings can't be read from %s", file), e);
+        }
+        properties.stringPropertyNames().forEach(description -> {
+            WaitingRecord record = WaitingRecord.parse(properties.getProperty(description));
+            if (record != null) {
+                RECORDS.put(description, record);
+            }
+        });
+    }
+
+    /**
+     * Saves recorded statistics to the file. It does nothing when the recording is turned off.
+     */
+    public static synchronized void save() {
+        Path toSave = file;
+        if (toSave == null) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        RECORDS.forEach((description, record) -> properties.setProperty(description, record.format()));
+        try {
+            Path parent = toSave.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream output = Files.newOutputStream(toSave)) {
+                properties.store(output, "Statistics of waitings: attempts;successes;time-outs;recent " +
+                        "times to get a valuable result in millis");
+            }
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @return snapshot of statistics of all recorded waitings. They are sorted by descriptions.
+     */
+    public static List<WaitingStatistics> getStatistics() {
+        return RECORDS.entrySet().stream()
+                .map(entry -> entry.getValue().toStatistics(entry.getKey()))
+                .sorted(comparing(WaitingStatistics::getDescription))
+                .collect(toList());
+    }
+
+    /**
+     * @return messages about all adjustments of waiting time which are made since the recording is turned on.
+     */
+    public static List<String> getAdjustments() {
+        return unmodifiableList(new ArrayList<>(ADJUSTMENTS));
+    }
+
+    /**
+     * Removes all recorded statistics and adjustments.
+     */
+    public static void reset() {
+        RECORDS.clear();
+        ADJUSTMENTS.clear();
+    }
+
+    static void record(Supplier<String> description, int attempts, long nanos, boolean success) {
+        WaitingRecord record = RECORDS.get(description.get());
+        if (record == null) {
+            if (RECORDS.size() >= MAX_WAITING_COUNT) {
+                return;
+            }
+            record = RECORDS.computeIfAbsent(description.get(), s -> new WaitingRecord());
+        }
+        record.record(attempts, NANOSECONDS.toMillis(nanos), success);
+    }
+
+    /**
+     * Returns the waiting time. It is shorter than the defined time when the waiting time is adaptive and the
+     * value described by the given description was got quickly recently.
+     *
+     * @param description of the value which is waited for
+     * @param timeOutNanos is the defined waiting time
+     * @return waiting time in nanoseconds
+     */
+    static long getTimeOutNanos(Supplier<String> description, long timeOutNanos) {
+        if (!isEnabled()) {
+            return timeOutNanos;
+        }
+
+        Double factor = ADAPTIVE_WAITING_FACTOR.get();
+        if (factor == null) {
+            return timeOutNanos;
+        }
+
+        String key = description.get();
+        WaitingRecord record = RECORDS.get(key);
+        if (record == null) {
+            return timeOutNanos;
+        }
+
+        long p99 = record.getP99(MIN_SAMPLES);
+        if (p99 < 0) {
+            return timeOutNanos;
+        }
+
+        long adaptive = min(timeOutNanos, MILLISECONDS.toNanos(max((long) ceil(p99 * factor), MIN_ADAPTIVE_MILLIS)));
+        if (record.adjusted(adaptive, timeOutNanos)) {
+            String message = format("Waiting time of '%s' is adjusted to %s. The defined time is %s. " +
+                            "The 99th percentile of time to get a valuable result is %s", key,
+                    formatDuration(NANOSECONDS.toMillis(adaptive), "H:mm:ss:SSS", true),
+                    formatDuration(NANOSECONDS.toMillis(timeOutNanos), "H:mm:ss:SSS", true),
+                    formatDuration(p99, "H:mm:ss:SSS", true));
+            ADJUSTMENTS.add(message);
+            LoggerRegistry.getLoggers().forEach(logger -> logger.log(message));
+        }
+        return adaptive;
+    }
+
+    private static final class WaitingRecord {
+        private final long[] samples = new long[MAX_SAMPLES];
+        private int sampleCount;
+        private int next;
+        private long attempts;
+        private long successes;
+        private long timeOuts;
+        private long lastAdjusted = -1;
+
+        private static WaitingRecord parse(String value) {
+            String[] parts = value.split(";", -1);
+            if (parts.length != 4) {
+                return null;
+            }
+            try {
+                WaitingRecord record = new WaitingRecord();
+                record.attempts = Long.parseLong(parts[0]);
+                record.successes = Long.parseLong(parts[1]);
+                record.timeOuts = Long.parseLong(parts[2]);
+                if (!parts[3].isEmpty()) {
+                    for (String sample : parts[3].split(",")) {
+                        record.addSample(Long.parseLong(sample));
+                    }
+                }
+                return record;
+            }
+            catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private void addSample(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % MAX_SAMPLES;
+            sampleCount = min(sampleCount + 1, MAX_SAMPLES);
+        }
+
+        private long[] getSamples() {
+            long[] result = new long[sampleCount];
+            for (int i = 0; i < sampleCount; i++) {
+                result[i] = samples[(next - sampleCount + i + MAX_SAMPLES) % MAX_SAMPLES];
+            }
+            return result;
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = max(0, (int) ceil(percentile / 100 * sorted.length) - 1);
+            return sorted[index];
+        }
+
+        synchronized void record(int attempts, long millis, boolean success) {
+            this.attempts += attempts;
+            if (success) {
+                successes++;
+                addSample(millis);
+            }
+            else {
+                timeOuts++;
+            }
+        }
+
+        /**
+         * @return the 99th percentile of recent times to get a valuable result or {@code -1} when there are
+         * not enough samples.
+         */
+        synchronized long getP99(int minSamples) {
+            if (sampleCount < minSamples) {
+                return -1;
+            }
+            long[] sorted = getSamples();
+            Arrays.sort(sorted);
+            return percentile(sorted, 99);
+        }
+
+        /**
+         * @return {@code true} when the waiting time differs from the previous one. The previous waiting time
+         * is the defined one when the waiting time was not adjusted yet.
+         */
+        synchronized boolean adjusted(long timeOutNanos, long definedNanos) {
+            long previous = lastAdjusted < 0 ? definedNanos : lastAdjusted;
+            lastAdjusted = timeOutNanos;
+            return previous != timeOutNanos;
+        }
+
+        synchronized String format() {
+            StringBuilder result = new StringBuilder().append(attempts).append(';')
+                    .append(successes).append(';')
+                    .append(timeOuts).append(';');
+            long[] recent = getSamples();
+            for (int i = 0; i < recent.length; i++) {
+                if (i > 0) {
+                    result.append(',');
+                }
+                result.append(recent[i]);
+            }
+            return result.toString();
+        }
+
+        synchronized WaitingStatistics toStatistics(String description) {
+            long[] sorted = getSamples();
+            Arrays.sort(sorted);
+            return new WaitingStatistics(description, attempts, successes, timeOuts,
+                    percentile(sorted, 50), percentile(sorted, 99));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.toy.constructor.core.api;
+
+/**
+ * Statistics of some waiting. The waiting is identified by the description of the value which is waited for.
+ * Time is measured in milliseconds.
+ * @see WaitingMetrics
+ */
+public final class WaitingStatistics {
+
+    private final String description;
+    private final long attempts;
+    private final long successes;
+    private final long timeOuts;
+    private final long p50;
+    private final long p99;
+
+    WaitingStatistics(String description, long attempts, long successes, long timeOuts, long p50, long p99) {
+        this.description = description;
+        this.attempts = attempts;
+        this.successes = successes;
+        this.timeOuts = timeOuts;
+        this.p50 = p50;
+        this.p99 = p99;
+    }
+
+    /**
+     * @return description of the value which is waited for.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return count of attempts to get a valuable result.
+     */
+    public long getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return count of waitings which got a valuable result.
+     */
+    public long getSuccesses() {
+        return successes;
+    }
+
+    /**
+     * @return count of waitings which were finished by the time-out.
+     */
+    public long getTimeOuts() {
+        return timeOuts;
+    }
+
+    /**
+     * @return part of waitings which were finished by the time-out. It is a value from {@code 0} to {@code 1}.
+     */
+    public double getTimeOutRate() {
+        long total = successes + timeOuts;
+        return total == 0 ? 0 : (double) timeOuts / total;
+    }
+
+    /**
+     * @return median time to get a valuable result in milliseconds. Only recent waitings are taken into account.
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * @return 99th percentile of time to get a valuable result in milliseconds. Only recent waitings are
+     * taken into account.
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: attempts=%s, successes=%s, timeOuts=%s, p50=%sms, p99=%sms", description,
+                attempts, successes, timeOuts, p50, p99);
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.toy.constructor.core.api;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+
+/**
+ * Properties of the recording of waiting statistics.
+ * @see WaitingMetrics
+ */
+public enum WaitingStatisticsProperties implements PropertySupplier<Path> {
+    /**
+     * Reads property {@code "waiting.statistics.file"}. It is the path to the file where statistics of waitings
+     * are kept between runs. Statistics are recorded if the property is defined. Returns read value or
+     * {@code null} when nothing is defined.
+     */
+    WAITING_STATISTICS_FILE("waiting.statistics.file");
+
+    private final String propertyName;
+
+    WaitingStatisticsProperties(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    @Override
+    public Path get() {
+        return returnOptionalFromEnvironment()
+                .map(s -> Paths.get(s.trim()))
+                .orElse(null);
+    }
+
+    public enum AdaptiveWaitingProperties implements PropertySupplier<Double> {
+        /**
+         * Reads property {@code "waiting.adaptive.factor"}. Waiting time becomes adaptive if the property
+         * is defined and statistics are recorded. Then the waiting time is the 99th percentile of the time
+         * to get a valuable result multiplied by the read value. It is not longer than the defined waiting time.
+         * Returns read value or {@code null} when nothing is defined.
+         */
+        ADAPTIVE_WAITING_FACTOR("waiting.adaptive.factor");
+
+        private final String propertyName;
+
+        AdaptiveWaitingProperties(String propertyName) {
+            this.propertyName = propertyName;
+        }
+
+        @Override
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        @Override
+        public Double get() {
+            return returnOptionalFromEnvironment()
+                    .map(s -> {
+                        double result = Double.parseDouble(s.trim());
+                        checkArgument(result >= 1, format("Property: %s. Value should not be less than 1",
+                                this.toString()));
+                        return result;
+                    })
+                    .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import com.github.toy.constructor.core.api.Stoppable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static com.github.toy.constructor.core.api.proxy.BackPressurePolicy.BLOCK;
+import static com.github.toy.constructor.core.api.proxy.BackPressurePolicy.SAMPLE;
+import static java.lang.String.format;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.synchronizedSet;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Delivers messages to the wrapped logger by the separate daemon thread. Messages are delivered
+ * in the same order as they are logged. All asynchronous loggers share the single delivering thread.
+ * A logger is handed to the thread only when it has messages to deliver. The thread waits for new messages
+ * without polling and it is finished when there is nothing to deliver for a while. Text messages of steps are built
+ * by the thread which performs steps, so they describe arguments as they were when steps were invoked.
+ * Exceptions which are thrown by the wrapped logger are counted, see {@link LoggerRegistry#getFailedDeliveries()}.
+ * @see SubstitutionFlagProperties#ASYNC_LOGGING
+ */
+final class AsyncLogger implements Logger, Stoppable {
+
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ThreadPoolExecutor DELIVERY = new ThreadPoolExecutor(1, 1, 1, SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+        Thread thread = new Thread(runnable, format("async-logger-%s", THREAD_COUNTER.incrementAndGet()));
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final ThreadLocal<Boolean> DELIVERING = ThreadLocal.withInitial(() -> false);
+    /**
+     * Loggers which are not collected yet. A logger which has messages to deliver is strongly referenced
+     * by the queue of the delivering thread.
+     */
+    private static final Set<AsyncLogger> LIVE = synchronizedSet(newSetFromMap(new WeakHashMap<>()));
+    private static final AtomicLong FAILED = new AtomicLong();
+
+    static {
+        DELIVERY.allowCoreThreadTimeOut(true);
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncLogger::flushAll, "async-logger-flush"));
+    }
+
+    private final Logger logger;
+    private final MessageRingBuffer<Object> buffer;
+    private final BackPressurePolicy policy;
+    private final int samplingRate;
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private volatile long delivered;
+    private volatile boolean stopped;
+
+    AsyncLogger(Logger logger, int bufferSize, BackPressurePolicy policy, int samplingRate) {
+        this.logger = logger;
+        this.buffer = new MessageRingBuffer<>(bufferSize);
+        this.policy = policy;
+        this.samplingRate = samplingRate;
+        LIVE.add(this);
+    }
+
+    /**
+     * Waits until messages of all loggers which are not collected yet are delivered.
+     */
+    static void flushAll() {
+        List<AsyncLogger> loggers;
+        synchronized (LIVE) {
+            loggers = new ArrayList<>(LIVE);
+        }
+        loggers.forEach(AsyncLogger::flush);
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                DELIVERY.execute(this::deliver);
+            }
+            catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                deliver();
+            }
+        }
+    }
+
+    private void deliver() {
+        boolean delivering = DELIVERING.get();
+        DELIVERING.set(true);
+        try {
+            Object message;
+            int count = 0;
+            while (count++ < MAX_BATCH_SIZE && (message = buffer.poll()) != null) {
+                deliver(message);
+                delivered++;
+                signal();
+            }
+        }
+        finally {
+            DELIVERING.set(delivering);
+            scheduled.set(false);
+        }
+
+        if (buffer.offered() > delivered) {
+            schedule();
+        }
+    }
+
+    private void deliver(Object message) {
+        try {
+            if (message instanceof StepEvent) {
+                logger.log((StepEvent) message);
+            }
+            else {
+                logger.log((String) message);
+            }
+        }
+        catch (Throwable t) {
+            FAILED.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return count of messages which were not delivered because the wrapped logger threw exceptions.
+     */
+    static long getFailed() {
+        return FAILED.get();
+    }
+
+    /**
+     * Wakes up threads which wait for a free slot of the buffer or for the delivery.
+     */
+    private void signal() {
+        if (waiting.get() > 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    private void await(BooleanSupplier condition) {
+        waiting.incrementAndGet();
+        try {
+            synchronized (this) {
+                while (!condition.getAsBoolean()) {
+                    schedule();
+                    wait();
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void log(String message) {
+        offer(message);
+    }
+
+    /**
+     * The text message of the event is built before the event is put to the buffer. So arguments which are changed
+     * after the invocation of the step are not described by the delivering thread.
+     *
+     * @param event to be logged
+     */
+    @Override
+    public void log(StepEvent event) {
+        event.getMessage();
+        offer(event);
+    }
+
+    private void offer(Object message) {
+        if (stopped) {
+            deliver(message);
+            return;
+        }
+
+        if (buffer.offer(message)) {
+            schedule();
+            return;
+        }
+
+        if (policy == BLOCK || (policy == SAMPLE && rejected.incrementAndGet() % samplingRate == 0)) {
+            if (DELIVERING.get()) {
+                //the delivering thread can't wait for itself
+                deliver(message);
+                return;
+            }
+            await(() -> buffer.offer(message));
+            schedule();
+        }
+    }
+
+    /**
+     * Waits until all messages which were logged before are delivered.
+     */
+    private void flush() {
+        if (DELIVERING.get()) {
+            return;
+        }
+
+        long offered = buffer.offered();
+        await(() -> delivered >= offered);
+    }
+
+    /**
+     * Waits until all messages which were logged before are delivered. Messages which are logged
+     * after that are delivered synchronously.
+     */
+    @Override
+    public void shutDown() {
+        flush();
+        stopped = true;
+        LIVE.remove(this);
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import com.github.toy.constructor.core.api.PropertySupplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+import static java.util.Arrays.stream;
+
+/**
+ * Properties of the asynchronous logging.
+ * @see SubstitutionFlagProperties#ASYNC_LOGGING
+ */
+public enum AsyncLoggingProperties implements PropertySupplier<Integer> {
+    /**
+     * Reads property {@code "async.logging.buffer.size"}. It is the count of messages about steps
+     * which may wait for the delivery to loggers. The value is rounded up to the nearest power of two.
+     * Returns read value or {@code 1024} when nothing is defined.
+     */
+    ASYNC_LOGGING_BUFFER_SIZE("async.logging.buffer.size", 1024),
+
+    /**
+     * Reads property {@code "async.logging.sampling.rate"}. It is used by {@link BackPressurePolicy#SAMPLE}.
+     * Each n-th message which doesn't fit the buffer is delivered. Returns read value or {@code 10}
+     * when nothing is defined.
+     */
+    ASYNC_LOGGING_SAMPLING_RATE("async.logging.sampling.rate", 10);
+
+    private final String propertyName;
+    private final int defaultValue;
+
+    AsyncLoggingProperties(String propertyName, int defaultValue) {
+        this.propertyName = propertyName;
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    @Override
+    public Integer get() {
+        int result = returnOptionalFromEnvironment()
+                .map(s -> Integer.parseInt(s.trim()))
+                .orElse(defaultValue);
+        checkArgument(result > 0, format("Property: %s. Value should be positive", this.toString()));
+        return result;
+    }
+
+    public enum BackPressureProperties implements PropertySupplier<BackPressurePolicy> {
+        /**
+         * Reads property {@code "async.logging.back.pressure"}. It defines what happens when the buffer
+         * of the asynchronous logging is full. Returns read value or {@link BackPressurePolicy#BLOCK}
+         * when nothing is defined.
+         * @see BackPressurePolicy
+         */
+        ASYNC_LOGGING_BACK_PRESSURE("async.logging.back.pressure");
+
+        private final String propertyName;
+
+        BackPressureProperties(String propertyName) {
+            this.propertyName = propertyName;
+        }
+
+        @Override
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        @Override
+        public BackPressurePolicy get() {
+            return returnOptionalFromEnvironment()
+                    .map(s -> stream(BackPressurePolicy.values())
+                            .filter(policy -> s.trim().equalsIgnoreCase(policy.name()))
+                            .findFirst()
+                            .orElseThrow(
+                                    () -> new IllegalArgumentException(format("Property: %s. Unidentified " +
+                                                    "back pressure policy %s. Please take a look at " +
+                                                    "elements of %s", this.toString(), s,
+                                            BackPressurePolicy.class.getName())))).orElse(BackPressurePolicy.BLOCK);
+        }
+    }
+}
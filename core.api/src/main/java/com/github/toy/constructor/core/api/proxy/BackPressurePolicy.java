@@ -0,0 +1,24 @@
+package com.github.toy.constructor.core.api.proxy;
+
+/**
+ * Describes what happens to a message about a step when the buffer of the asynchronous logging is full.
+ * @see SubstitutionFlagProperties#ASYNC_LOGGING
+ */
+public enum BackPressurePolicy {
+    /**
+     * The thread which performs steps waits until there is free space in the buffer.
+     * No message is lost.
+     */
+    BLOCK,
+
+    /**
+     * The message is dropped. The thread which performs steps never waits.
+     */
+    DROP,
+
+    /**
+     * Each n-th message which doesn't fit the buffer is delivered as it is described by {@link #BLOCK}.
+     * Other ones are dropped. The rate is defined by {@link AsyncLoggingProperties#ASYNC_LOGGING_SAMPLING_RATE}.
+     */
+    SAMPLE
+}
@@ -0,0 +1,32 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import java.util.List;
+
+/**
+ * Passes messages and events to each one of given loggers.
+ */
+final class CompositeLogger implements Logger {
+    private final Logger[] loggers;
+
+    CompositeLogger(List<Logger> loggers) {
+        this.loggers = loggers.toArray(new Logger[0]);
+    }
+
+    boolean isEmpty() {
+        return loggers.length == 0;
+    }
+
+    @Override
+    public void log(String message) {
+        for (Logger logger: loggers) {
+            logger.log(message);
+        }
+    }
+
+    @Override
+    public void log(StepEvent event) {
+        for (Logger logger: loggers) {
+            logger.log(event);
+        }
+    }
+}
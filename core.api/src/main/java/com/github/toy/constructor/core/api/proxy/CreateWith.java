@@ -21,4 +21,18 @@ public @interface CreateWith {
      * @return subclass of {@link ParameterProvider}.
      */
     Class<? extends ParameterProvider> provider();
+
+    /**
+     * Defines which instance really performs steps.
+     *
+     * @return scope of instances which perform steps. {@link InstanceScope#PER_THREAD} is used by default.
+     */
+    InstanceScope scope() default InstanceScope.PER_THREAD;
+
+    /**
+     * Max count of instances which may be created when the {@link InstanceScope#POOLED} is used.
+     *
+     * @return size of the pool.
+     */
+    int poolSize() default 1;
 }
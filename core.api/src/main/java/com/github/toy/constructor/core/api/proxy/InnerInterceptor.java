@@ -1,51 +1,78 @@
 package com.github.toy.constructor.core.api.proxy;
 
-import com.github.toy.constructor.core.api.ToBeReported;
-import net.bytebuddy.implementation.bind.annotation.*;
+import com.github.toy.constructor.core.api.Stoppable;
 
-import java.lang.reflect.Method;
 import java.util.List;
-import java.util.concurrent.Callable;
 
-import static java.lang.String.format;
-import static java.lang.String.valueOf;
-import static java.lang.reflect.Proxy.newProxyInstance;
-import static java.util.Arrays.asList;
-import static java.util.Optional.ofNullable;
-import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static com.github.toy.constructor.core.api.proxy.AsyncLoggingProperties.ASYNC_LOGGING_BUFFER_SIZE;
+import static com.github.toy.constructor.core.api.proxy.AsyncLoggingProperties.ASYNC_LOGGING_SAMPLING_RATE;
+import static com.github.toy.constructor.core.api.proxy.AsyncLoggingProperties.BackPressureProperties.ASYNC_LOGGING_BACK_PRESSURE;
 
-public class InnerInterceptor {
+public class InnerInterceptor implements Stoppable {
 
     private final Logger defaultLogger;
+    private final boolean hasNoLoggers;
 
-    InnerInterceptor(List<Logger> loggers) {
-        defaultLogger = Logger.class.cast(
-                newProxyInstance(Logger.class.getClassLoader(),
-                        new Class[]{Logger.class}, new LoggerInvocationHandler(loggers)));
+    InnerInterceptor(List<Logger> loggers, boolean async) {
+        CompositeLogger logger = new CompositeLogger(loggers);
+        hasNoLoggers = logger.isEmpty();
+        if (async) {
+            defaultLogger = new AsyncLogger(logger, ASYNC_LOGGING_BUFFER_SIZE.get(),
+                    ASYNC_LOGGING_BACK_PRESSURE.get(), ASYNC_LOGGING_SAMPLING_RATE.get());
+        }
+        else {
+            defaultLogger = logger;
+        }
     }
 
+    /**
+     * Reports invocation of a method annotated by {@link com.github.toy.constructor.core.api.ToBeReported}.
+     * It is invoked by the generated code, see {@link StepMethodImplementation}. The text message is not built
+     * here. It is built by {@link StepEvent} when some logger asks for it.
+     *
+     * @param method is the name of the invoked method in form {@code class name.method name}.
+     * @param constantMessagePart is the constant part of the message to report.
+     * @param args are arguments of the invoked method.
+     * @return the reported event when the step should be measured. {@code null} otherwise.
+     * @see StepMetrics
+     */
+    public StepEvent report(String method, String constantMessagePart, Object[] args) {
+        boolean measured = StepMetrics.isEnabled();
+        if (hasNoLoggers && !measured) {
+            return null;
+        }
 
-    @RuntimeType
-    public Object intercept(@SuperCall Callable<?> superMethod, @Origin Method method,
-                            @AllArguments Object... args)
-            throws Throwable {
-        ToBeReported toBeReportedAnnotation = method.getAnnotation(ToBeReported.class);
-        ofNullable(toBeReportedAnnotation).ifPresent(toBeReported -> {
-            String reportedMessage = EMPTY;
-            if (args.length == 1) {
-                reportedMessage = valueOf(args[0]);
-            }
-            else if (args.length > 1) {
-                reportedMessage = valueOf(asList(args));
-            }
-            defaultLogger.log(format("%s %s", toBeReported.constantMessagePart(), reportedMessage).trim());
-        });
-
-        try {
-            return superMethod.call();
+        StepEvent event = new StepEvent(method, constantMessagePart, args);
+        if (!hasNoLoggers) {
+            defaultLogger.log(event);
         }
-        catch (Throwable t) {
-            throw t;
+        if (!measured) {
+            return null;
+        }
+        event.started();
+        return event;
+    }
+
+    /**
+     * Records the latency of the step when it is finished successfully or not.
+     * It is invoked by the generated code, see {@link StepMethodImplementation}.
+     *
+     * @param event which was returned by {@link #report(String, String, Object[])}.
+     */
+    public void finished(StepEvent event) {
+        if (event != null) {
+            StepMetrics.record(event, System.nanoTime());
+        }
+    }
+
+    /**
+     * Waits until all reported messages are delivered to loggers when they are delivered asynchronously.
+     * It is invoked by the generated code when a substituted {@link Stoppable} is shut down.
+     */
+    @Override
+    public void shutDown() {
+        if (defaultLogger instanceof Stoppable) {
+            ((Stoppable) defaultLogger).shutDown();
         }
     }
 }
@@ -0,0 +1,27 @@
+package com.github.toy.constructor.core.api.proxy;
+
+/**
+ * Defines which instance really performs steps when some method of the substituted instance is invoked.
+ * @see CreateWith#scope()
+ * @see Substitution#release(Object)
+ */
+public enum InstanceScope {
+    /**
+     * Each thread uses its own instance. It is kept until {@link Substitution#release(Object)} is invoked
+     * by the same thread.
+     */
+    PER_THREAD,
+    /**
+     * Each {@link TestScope} uses its own instance. It is shared by all threads which work within the same scope.
+     * The instance is released when the scope is closed.
+     */
+    PER_TEST,
+    /**
+     * Instances are leased from the bounded pool. The instance is leased by the current {@link TestScope},
+     * so it should be used within some open scope like {@link #PER_TEST}. It is returned to the pool when
+     * the scope is closed or when {@link Substitution#release(Object)} is invoked within the scope. Threads wait
+     * for a free instance when all instances of the pool are leased.
+     * @see CreateWith#poolSize()
+     */
+    POOLED
+}
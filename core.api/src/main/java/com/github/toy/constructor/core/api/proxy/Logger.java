@@ -6,4 +6,13 @@ public interface Logger {
      * @param message to be logged
      */
     void log(String message);
+
+    /**
+     * Logging of the invocation of a step. By default it logs the text message built by the event.
+     * Loggers which don't need the text may override this method. Then the text is not built.
+     * @param event to be logged
+     */
+    default void log(StepEvent event) {
+        log(event.getMessage());
+    }
 }
@@ -0,0 +1,105 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+import static com.github.toy.constructor.core.api.proxy.SubstitutionFlagProperties.ASYNC_LOGGING;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Keeps loggers which are found by the {@link ServiceLoader}. They are found and instantiated once
+ * when they are needed at the first time. Additional loggers of each substitution are added to them
+ * without the new search.
+ */
+public final class LoggerRegistry {
+
+    private static volatile SPILoggers spiLoggers;
+
+    private LoggerRegistry() {
+        super();
+    }
+
+    private static SPILoggers getSPILoggers() {
+        SPILoggers loggers = spiLoggers;
+        if (loggers != null) {
+            return loggers;
+        }
+
+        synchronized (LoggerRegistry.class) {
+            if (spiLoggers == null) {
+                spiLoggers = new SPILoggers(ServiceLoader.load(Logger.class)
+                        .stream()
+                        .map(ServiceLoader.Provider::get).collect(toList()));
+            }
+            return spiLoggers;
+        }
+    }
+
+    /**
+     * @return loggers found by the {@link ServiceLoader}.
+     */
+    public static List<Logger> getLoggers() {
+        return getSPILoggers().loggers;
+    }
+
+    /**
+     * Returns loggers found by the {@link ServiceLoader} and given additional loggers. Additional loggers
+     * of the same classes as found loggers are ignored.
+     *
+     * @param additional loggers to add.
+     * @return list of loggers.
+     */
+    static List<Logger> getLoggers(List<Logger> additional) {
+        SPILoggers found = getSPILoggers();
+        List<Logger> loggers = new ArrayList<>(found.loggers);
+        loggers.addAll(additional
+                .stream()
+                .filter(logger -> !found.classes.contains(ofNullable(logger).map(Logger::getClass).orElse(null)))
+                .collect(toList()));
+        return loggers;
+    }
+
+    /**
+     * Creates the reporter which logs steps by loggers found by the {@link ServiceLoader}
+     * and given additional loggers. Reporters are not cached because additional loggers are
+     * often created for each substitution.
+     *
+     * @param additional loggers to add.
+     * @return the reporter.
+     */
+    static InnerInterceptor getReporter(List<Logger> additional) {
+        return new InnerInterceptor(getLoggers(additional), ASYNC_LOGGING.get());
+    }
+
+    /**
+     * Searches for loggers by the {@link ServiceLoader} again. Messages which are delivered asynchronously are
+     * flushed. Instances which are substituted after the invocation use new loggers. It is useful for tests.
+     */
+    public static synchronized void reload() {
+        spiLoggers = null;
+        AsyncLogger.flushAll();
+    }
+
+    /**
+     * @return count of messages which were not delivered asynchronously because loggers threw exceptions.
+     * See {@link SubstitutionFlagProperties#ASYNC_LOGGING}.
+     */
+    public static long getFailedDeliveries() {
+        return AsyncLogger.getFailed();
+    }
+
+    private static final class SPILoggers {
+        private final List<Logger> loggers;
+        private final Set<Class<?>> classes;
+
+        private SPILoggers(List<Logger> loggers) {
+            this.loggers = unmodifiableList(loggers);
+            classes = loggers.stream().map(Logger::getClass).collect(toSet());
+        }
+    }
+}
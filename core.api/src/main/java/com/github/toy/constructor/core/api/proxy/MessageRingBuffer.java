@@ -0,0 +1,88 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Bounded lock-free buffer of messages. Messages may be offered by many threads and they are polled
+ * by the single thread. Each slot has its sequence number which shows whether the slot is free to write
+ * or it is ready to read.
+ */
+final class MessageRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> messages;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    MessageRingBuffer(int size) {
+        checkArgument(size > 0, "Size of the buffer should be positive");
+        int capacity = Integer.highestOneBit(size);
+        if (capacity < size) {
+            capacity = capacity << 1;
+        }
+        messages = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * Puts the message to the buffer.
+     *
+     * @param message to put.
+     * @return {@code true} if the message is put. {@code false} if the buffer is full.
+     */
+    boolean offer(T message) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    messages.set(index, message);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            }
+            else if (difference < 0) {
+                return false;
+            }
+            else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Takes the next message. It should be invoked by the single thread.
+     *
+     * @return the next message or {@code null} if there is nothing to take.
+     */
+    T poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        T message = messages.get(index);
+        messages.set(index, null);
+        sequences.set(index, position + mask + 1);
+        head = position + 1;
+        return message;
+    }
+
+    /**
+     * @return count of messages which were put to the buffer since it was created.
+     */
+    long offered() {
+        return tail.get();
+    }
+}
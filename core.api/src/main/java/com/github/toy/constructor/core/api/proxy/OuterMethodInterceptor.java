@@ -1,77 +1,177 @@
 package com.github.toy.constructor.core.api.proxy;
 
-import net.sf.cglib.proxy.MethodInterceptor;
-import net.sf.cglib.proxy.MethodProxy;
+import com.github.toy.constructor.core.api.Stoppable;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
 import java.util.function.Function;
 
-import static com.github.toy.constructor.core.api.reflection.ConstructorUtil.findSuitableConstructor;
-import static java.util.Optional.ofNullable;
+import static com.github.toy.constructor.core.api.proxy.InstanceScope.PER_THREAD;
+import static com.github.toy.constructor.core.api.proxy.InstanceScope.POOLED;
+import static com.github.toy.constructor.core.api.proxy.StepMethodImplementation.setReporter;
+import static com.github.toy.constructor.core.api.reflection.ConstructorUtil.findSuitableConstructorHandle;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
 
-public class OuterMethodInterceptor<T> implements MethodInterceptor {
+/**
+ * Dispatches invocations of methods of the substituted instance to the instance which is created
+ * for the current thread, the current {@link TestScope} or which is leased from the pool. See {@link InstanceScope}.
+ * Invocations are performed by the generated code, see {@link StepMethodImplementation}.
+ *
+ * @param <T> type of the implementor of {@link com.github.toy.constructor.core.api.GetStep} and/or
+ * {@link com.github.toy.constructor.core.api.PerformStep}.
+ */
+public class OuterMethodInterceptor<T> {
 
-    private final Class<T> originalClass;
-    private final Class<T> classToInstantiate;
+    private final Class<? extends T> substitutedClass;
+    private final Class<? extends T> classToInstantiate;
     private final ConstructorParameters constructorParameters;
     private final Function<T, T> manipulationWithObjectToReturn;
+    private final InnerInterceptor reporter;
+    private final InstanceScope scope;
     private final ThreadLocal<T> threadLocal;
+    /**
+     * Free instances of the pool and permits to lease them. They are used by {@link InstanceScope#POOLED} only.
+     */
+    private final Queue<T> pool;
+    private final Semaphore leases;
 
-    OuterMethodInterceptor(Class<T> originalClass, Class<T> classToInstantiate, ConstructorParameters constructorParameters,
-                           Function<T, T> manipulationWithObjectToReturn) {
-        this.originalClass = originalClass;
+    OuterMethodInterceptor(Class<? extends T> substitutedClass, Class<? extends T> classToInstantiate,
+                           ConstructorParameters constructorParameters,
+                           Function<T, T> manipulationWithObjectToReturn,
+                           InnerInterceptor reporter,
+                           InstanceScope scope,
+                           int poolSize) {
+        checkArgument(scope != POOLED || poolSize > 0, "Size of the pool should be positive");
+        this.substitutedClass = substitutedClass;
         this.classToInstantiate = classToInstantiate;
         this.constructorParameters = constructorParameters;
         this.manipulationWithObjectToReturn = manipulationWithObjectToReturn;
+        this.reporter = reporter;
+        this.scope = scope;
         threadLocal = new ThreadLocal<>();
+        if (scope == POOLED) {
+            pool = new ConcurrentLinkedQueue<>();
+            leases = new Semaphore(poolSize, true);
+        }
+        else {
+            pool = null;
+            leases = null;
+        }
     }
 
-    @Override
-    public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
-        T target;
-        try {
-            target = ofNullable(threadLocal.get()).orElseGet(() -> {
-                Object[] params = constructorParameters.getParameterValues();
-                Constructor<T> c;
-                try {
-                    c = findSuitableConstructor(classToInstantiate, params);
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-                c.setAccessible(true);
-                T t;
-                try {
-                    t = manipulationWithObjectToReturn.apply(c.newInstance(constructorParameters.getParameterValues()));
-                    threadLocal.set(t);
-                } catch (InstantiationException|IllegalAccessException e) {
-                    throw new RuntimeException(e);
-                } catch (InvocationTargetException e) {
-                    throw new RuntimeException(e.getCause());
-                }
-                return t;
-            });
+    /**
+     * Returns the result of the invocation or the substituted instance when the invoked
+     * method returns the instance which performs steps.
+     *
+     * @param result of the invocation of the method of the target instance.
+     * @param target instance which performs steps.
+     * @param substituted instance which was returned to the user.
+     * @return the object to return from the invoked method of the substituted instance.
+     */
+    public static Object returned(Object result, Object target, Object substituted) {
+        if (result == target) {
+            return substituted;
+        }
+        return result;
+    }
+
+    /**
+     * Returns an instance which performs steps in the current thread. Instances of {@link InstanceScope#PER_TEST}
+     * and {@link InstanceScope#POOLED} substitutions are bound to the current {@link TestScope}. So an instance
+     * of the pool is always returned when the scope is closed, and it is never pinned by a thread which
+     * is finished. It is created or leased when it is necessary.
+     *
+     * @return an instance which performs steps.
+     * @throws Throwable when it is impossible to create the instance.
+     */
+    public T getTarget() throws Throwable {
+        if (scope != PER_THREAD) {
+            TestScope testScope = TestScope.current();
+            checkArgument(testScope != null, format("%s should be used within some open %s",
+                    substitutedClass.getSuperclass().getName(), TestScope.class.getName()));
+            return testScope.getTarget(this);
         }
-        catch (RuntimeException e) {
-            throw ofNullable(e.getCause()).orElse(e);
+
+        T target = threadLocal.get();
+        if (target != null) {
+            return target;
         }
 
-        method.setAccessible(true);
+        target = acquire();
+        threadLocal.set(target);
+        return target;
+    }
+
+    /**
+     * Creates new instance or leases an instance of the pool.
+     */
+    T acquire() throws Throwable {
+        if (pool == null) {
+            return create();
+        }
 
+        leases.acquire();
         try {
-            return ofNullable(method.invoke(target, args)).map(o -> {
-                if (o.getClass().equals(originalClass)) {
-                    return obj;
-                }
-                return o;
-            }).orElse(null);
+            T target = pool.poll();
+            return target != null ? target : create();
+        }
+        catch (Throwable t) {
+            leases.release();
+            throw t;
+        }
+    }
+
+    /**
+     * @return the given instance which performs steps as an instance of the substituted class.
+     */
+    T cast(Object target) {
+        return substitutedClass.cast(target);
+    }
+
+    private T create() throws Throwable {
+        Object[] params = constructorParameters.getParameterValues();
+        T created = (T) findSuitableConstructorHandle(classToInstantiate, params).invokeExact(params);
+        setReporter(created, reporter);
+        T target = manipulationWithObjectToReturn.apply(created);
+
+        checkArgument(substitutedClass.isInstance(target), format("Object to return should be an instance of %s",
+                substitutedClass.getName()));
+        return target;
+    }
+
+    /**
+     * Releases the instance which is used by the current thread or by the current {@link TestScope}.
+     */
+    void release() {
+        TestScope testScope = scope == PER_THREAD ? null : TestScope.current();
+        Object removed = testScope == null ? null : testScope.remove(this);
+        if (removed != null) {
+            release(removed);
+            return;
+        }
+
+        T target = threadLocal.get();
+        if (target != null) {
+            threadLocal.remove();
+            release(target);
         }
-        catch (InvocationTargetException e) {
-            throw ofNullable(e.getCause()).orElse(e);
+    }
+
+    /**
+     * Returns the instance to the pool. Instances which are not pooled are shut down when they
+     * are {@link Stoppable}.
+     */
+    void release(Object target) {
+        if (pool != null) {
+            pool.offer(cast(target));
+            leases.release();
+            return;
         }
-        catch (Throwable e) {
-            throw e;
+
+        if (target instanceof Stoppable) {
+            ((Stoppable) target).shutDown();
         }
     }
 }
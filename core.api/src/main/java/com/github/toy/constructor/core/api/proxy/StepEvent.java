@@ -0,0 +1,104 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import static java.lang.String.format;
+import static java.lang.String.valueOf;
+import static java.util.Arrays.asList;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+
+/**
+ * Describes the invocation of a method annotated by {@link com.github.toy.constructor.core.api.ToBeReported}.
+ * The text message is built only when some logger asks for it. It is built by the thread which invoked the method
+ * when messages are delivered asynchronously, see {@link SubstitutionFlagProperties#ASYNC_LOGGING}.
+ */
+public final class StepEvent {
+
+    private final String method;
+    private final String constantMessagePart;
+    private final Object[] args;
+    private final Thread thread;
+    private final long nanoTime;
+    private volatile String message;
+    private volatile long startedAt;
+
+    StepEvent(String method, String constantMessagePart, Object[] args) {
+        this.method = method;
+        this.constantMessagePart = constantMessagePart;
+        this.args = args;
+        thread = Thread.currentThread();
+        nanoTime = System.nanoTime();
+    }
+
+    /**
+     * @return name of the invoked method in form {@code class name.method name}.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the constant part of the message. See
+     * {@link com.github.toy.constructor.core.api.ToBeReported#constantMessagePart()}
+     */
+    public String getConstantMessagePart() {
+        return constantMessagePart;
+    }
+
+    /**
+     * @return arguments of the invoked method.
+     */
+    public Object[] getArgs() {
+        return args.clone();
+    }
+
+    /**
+     * @return the thread which invoked the method.
+     */
+    public Thread getThread() {
+        return thread;
+    }
+
+    /**
+     * @return value of {@link System#nanoTime()} when the method was invoked.
+     */
+    public long getNanoTime() {
+        return nanoTime;
+    }
+
+    /**
+     * @return the text message which consists of the constant part and string values of arguments.
+     */
+    public String getMessage() {
+        String result = message;
+        if (result != null) {
+            return result;
+        }
+
+        String reportedMessage = EMPTY;
+        if (args.length == 1) {
+            reportedMessage = valueOf(args[0]);
+        }
+        else if (args.length > 1) {
+            reportedMessage = valueOf(asList(args));
+        }
+        result = format("%s %s", constantMessagePart, reportedMessage).trim();
+        message = result;
+        return result;
+    }
+
+    /**
+     * Marks the start of the step. It is invoked after the event is logged. So the time of the logging
+     * is not counted by {@link StepMetrics}.
+     */
+    void started() {
+        startedAt = System.nanoTime();
+    }
+
+    long getStartedAt() {
+        return startedAt;
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
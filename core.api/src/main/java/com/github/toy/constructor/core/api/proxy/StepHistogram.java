@@ -0,0 +1,83 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.min;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds. Buckets are log-linear like HDR histograms have:
+ * values below {@code 16} are counted exactly, bigger values are counted by buckets which are not wider
+ * than 1/8 of their values. Values bigger than about 73 minutes are counted as 73 minutes.
+ */
+final class StepHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final long MAX_TRACKABLE = (1L << 42) - 1;
+    private static final int BUCKETS = index(MAX_TRACKABLE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    private static int index(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index - shift * SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    void record(long nanos) {
+        long value = min(Math.max(nanos, 0), MAX_TRACKABLE);
+        counts.incrementAndGet(index(value));
+        count.incrementAndGet();
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    long getCount() {
+        return count.get();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile is a value from {@code 0} to {@code 100}.
+     * @return the highest value which is equivalent to the value at the given percentile.
+     */
+    long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long countToReach = Math.max(1, (long) ceil(percentile / 100 * total));
+        long reached = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            reached += snapshot[i];
+            if (reached >= countToReach) {
+                return min(highestValueOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+}
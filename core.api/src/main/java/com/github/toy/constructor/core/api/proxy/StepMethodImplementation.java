@@ -0,0 +1,417 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import com.github.toy.constructor.core.api.Stoppable;
+import com.github.toy.constructor.core.api.ToBeReported;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.implementation.bytecode.Duplication;
+import net.bytebuddy.implementation.bytecode.StackManipulation;
+import net.bytebuddy.implementation.bytecode.Throw;
+import net.bytebuddy.implementation.bytecode.assign.TypeCasting;
+import net.bytebuddy.implementation.bytecode.collection.ArrayFactory;
+import net.bytebuddy.implementation.bytecode.constant.TextConstant;
+import net.bytebuddy.implementation.bytecode.member.FieldAccess;
+import net.bytebuddy.implementation.bytecode.member.MethodInvocation;
+import net.bytebuddy.implementation.bytecode.member.MethodReturn;
+import net.bytebuddy.jar.asm.Label;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Arrays.asList;
+import static net.bytebuddy.description.type.TypeDescription.Generic.OBJECT;
+import static net.bytebuddy.implementation.bytecode.assign.Assigner.DEFAULT;
+import static net.bytebuddy.implementation.bytecode.assign.Assigner.Typing.STATIC;
+import static net.bytebuddy.implementation.bytecode.member.MethodVariableAccess.REFERENCE;
+import static net.bytebuddy.implementation.bytecode.member.MethodVariableAccess.allArgumentsOf;
+import static net.bytebuddy.implementation.bytecode.member.MethodVariableAccess.load;
+import static net.bytebuddy.implementation.bytecode.member.MethodVariableAccess.loadThis;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+
+/**
+ * Implements methods of a class generated by {@link Substitution}. The same generated class is used to create
+ * the substituted instance which is returned to the user and instances which really perform steps. Each method
+ * is implemented like
+ * <pre>{@code
+ * if (dispatcher != null) {
+ *     Generated target = (Generated) dispatcher.getTarget();
+ *     return (R) OuterMethodInterceptor.returned(target.method(args), target, this);
+ * }
+ * if (reporter != null) { //only for methods annotated by @ToBeReported
+ *     StepEvent event = reporter.report("Class.method", "constant message part", new Object[] {args});
+ *     try {
+ *         R result = super.method(args);
+ *         reporter.finished(event);
+ *         return result;
+ *     }
+ *     catch (Throwable t) {
+ *         reporter.finished(event);
+ *         throw t;
+ *     }
+ * }
+ * return super.method(args);
+ * }</pre>
+ * When the substituted class implements {@link Stoppable} then {@code reporter.shutDown()} is invoked
+ * after {@code super.shutDown()} by the same way. It flushes messages which are delivered asynchronously.
+ * So there are no reflective invocations and no allocations of callables per call.
+ */
+final class StepMethodImplementation implements Implementation {
+
+    static final String DISPATCHER_FIELD = "dispatcher$substitution";
+    static final String REPORTER_FIELD = "reporter$substitution";
+    static final StepMethodImplementation STEP_METHOD = new StepMethodImplementation();
+
+    /**
+     * Setters and getters of fields of generated classes. They are resolved once for each class.
+     */
+    private static final ClassValue<MethodHandle> DISPATCHER_SETTERS = accessors(DISPATCHER_FIELD, false);
+    private static final ClassValue<MethodHandle> DISPATCHER_GETTERS = accessors(DISPATCHER_FIELD, true);
+    private static final ClassValue<MethodHandle> REPORTER_SETTERS = accessors(REPORTER_FIELD, false);
+
+    private static final MethodDescription.InDefinedShape GET_TARGET;
+    private static final MethodDescription.InDefinedShape RETURNED;
+    private static final MethodDescription.InDefinedShape REPORT;
+    private static final MethodDescription.InDefinedShape SHUT_DOWN;
+    private static final MethodDescription.InDefinedShape FINISHED;
+    private static final String STEP_EVENT = TypeDescription.ForLoadedType.of(StepEvent.class).getInternalName();
+    private static final String THROWABLE = TypeDescription.ForLoadedType.of(Throwable.class).getInternalName();
+
+    static {
+        try {
+            GET_TARGET = new MethodDescription.ForLoadedMethod(OuterMethodInterceptor.class
+                    .getMethod("getTarget"));
+            RETURNED = new MethodDescription.ForLoadedMethod(OuterMethodInterceptor.class
+                    .getMethod("returned", Object.class, Object.class, Object.class));
+            REPORT = new MethodDescription.ForLoadedMethod(InnerInterceptor.class
+                    .getMethod("report", String.class, String.class, Object[].class));
+            FINISHED = new MethodDescription.ForLoadedMethod(InnerInterceptor.class
+                    .getMethod("finished", StepEvent.class));
+            SHUT_DOWN = new MethodDescription.ForLoadedMethod(InnerInterceptor.class.getMethod("shutDown"));
+        }
+        catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private StepMethodImplementation() {
+        super();
+    }
+
+    private static ClassValue<MethodHandle> accessors(String name, boolean getter) {
+        return new ClassValue<>() {
+            @Override
+            protected MethodHandle computeValue(Class<?> type) {
+                Class<?> clazz = type;
+                while (clazz != null) {
+                    try {
+                        Field field = clazz.getDeclaredField(name);
+                        field.setAccessible(true);
+                        if (getter) {
+                            return lookup().unreflectGetter(field)
+                                    .asType(methodType(Object.class, Object.class));
+                        }
+                        return lookup().unreflectSetter(field)
+                                .asType(methodType(void.class, Object.class, Object.class));
+                    }
+                    catch (NoSuchFieldException e) {
+                        clazz = clazz.getSuperclass();
+                    }
+                    catch (IllegalAccessException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                throw new IllegalArgumentException(String.format("%s is not generated by %s", type.getName(),
+                        Substitution.class.getName()));
+            }
+        };
+    }
+
+    private static void setField(ClassValue<MethodHandle> setters, Object instance, Object value) {
+        try {
+            setters.get(instance.getClass()).invokeExact(instance, value);
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    static void setDispatcher(Object substituted, OuterMethodInterceptor<?> dispatcher) {
+        setField(DISPATCHER_SETTERS, substituted, dispatcher);
+    }
+
+    static OuterMethodInterceptor<?> getDispatcher(Object substituted) {
+        try {
+            Object dispatcher = DISPATCHER_GETTERS.get(substituted.getClass()).invokeExact(substituted);
+            return (OuterMethodInterceptor<?>) dispatcher;
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    static void setReporter(Object target, InnerInterceptor reporter) {
+        setField(REPORTER_SETTERS, target, reporter);
+    }
+
+    private static StackManipulation readField(TypeDescription instrumentedType, String name) {
+        FieldDescription field = instrumentedType.getDeclaredFields().filter(named(name)).getOnly();
+        return new StackManipulation.Compound(loadThis(), FieldAccess.forField(field).read());
+    }
+
+    private static boolean isShutDown(TypeDescription instrumentedType, MethodDescription method) {
+        return instrumentedType.isAssignableTo(Stoppable.class)
+                && method.getName().equals("shutDown")
+                && method.getParameters().isEmpty()
+                && method.getReturnType().represents(void.class);
+    }
+
+    @Override
+    public InstrumentedType prepare(InstrumentedType instrumentedType) {
+        return instrumentedType;
+    }
+
+    @Override
+    public ByteCodeAppender appender(Target implementationTarget) {
+        return (methodVisitor, implementationContext, instrumentedMethod) -> {
+            TypeDescription instrumentedType = implementationTarget.getInstrumentedType();
+            TypeDescription returnType = instrumentedMethod.getReturnType().asErasure();
+            boolean returnsReference = !returnType.isPrimitive();
+            int targetOffset = instrumentedMethod.getStackSize();
+            Label toItself = new Label();
+
+            List<StackManipulation> code = new ArrayList<>();
+            code.add(readField(instrumentedType, DISPATCHER_FIELD));
+            code.add(new IfNull(toItself));
+            code.add(readField(instrumentedType, DISPATCHER_FIELD));
+            code.add(MethodInvocation.invoke(GET_TARGET));
+            code.add(TypeCasting.to(instrumentedType));
+            if (returnsReference) {
+                code.add(Duplication.SINGLE);
+                code.add(REFERENCE.storeAt(targetOffset));
+            }
+            code.add(allArgumentsOf(instrumentedMethod));
+            code.add(MethodInvocation.invoke(instrumentedMethod.asDefined()).virtual(instrumentedType));
+            if (returnsReference) {
+                code.add(REFERENCE.loadFrom(targetOffset));
+                code.add(loadThis());
+                code.add(MethodInvocation.invoke(RETURNED));
+                code.add(TypeCasting.to(returnType));
+            }
+            code.add(MethodReturn.of(returnType));
+            code.add(new Mark(toItself));
+
+            StackManipulation superMethod = implementationTarget.invokeDominant(instrumentedMethod.asSignatureToken());
+            if (!superMethod.isValid()) {
+                throw new IllegalStateException(String.format("Can't invoke super method of %s", instrumentedMethod));
+            }
+            List<StackManipulation> superCall = new ArrayList<>();
+            superCall.add(loadThis());
+            superCall.add(allArgumentsOf(instrumentedMethod));
+            superCall.add(superMethod);
+
+            List<StackManipulation> shutDown = new ArrayList<>();
+            if (isShutDown(instrumentedType, instrumentedMethod)) {
+                Label toReturn = new Label();
+                shutDown.add(readField(instrumentedType, REPORTER_FIELD));
+                shutDown.add(new IfNull(toReturn));
+                shutDown.add(readField(instrumentedType, REPORTER_FIELD));
+                shutDown.add(MethodInvocation.invoke(SHUT_DOWN));
+                shutDown.add(new Mark(toReturn));
+            }
+
+            AnnotationDescription.Loadable<ToBeReported> toBeReported = instrumentedMethod
+                    .getDeclaredAnnotations().ofType(ToBeReported.class);
+            if (toBeReported != null) {
+                Label toSuper = new Label();
+                Label tryStart = new Label();
+                Label tryEnd = new Label();
+                Label handler = new Label();
+                List<StackManipulation> arguments = new ArrayList<>();
+                for (ParameterDescription parameter: instrumentedMethod.getParameters()) {
+                    arguments.add(new StackManipulation.Compound(load(parameter),
+                            DEFAULT.assign(parameter.getType(), OBJECT, STATIC)));
+                }
+                String method = String.format("%s.%s", instrumentedType.getSuperClass().asErasure().getName(),
+                        instrumentedMethod.getName());
+
+                code.add(readField(instrumentedType, REPORTER_FIELD));
+                code.add(new IfNull(toSuper));
+                code.add(readField(instrumentedType, REPORTER_FIELD));
+                code.add(new TextConstant(method));
+                code.add(new TextConstant(toBeReported.loadSilent().constantMessagePart()));
+                code.add(ArrayFactory.forType(OBJECT).withValues(arguments));
+                code.add(MethodInvocation.invoke(REPORT));
+                code.add(REFERENCE.storeAt(targetOffset));
+                code.add(new TryCatch(tryStart, tryEnd, handler));
+                code.add(new Mark(tryStart, null));
+                code.addAll(superCall);
+                code.add(new Mark(tryEnd, null));
+                code.add(readField(instrumentedType, REPORTER_FIELD));
+                code.add(REFERENCE.loadFrom(targetOffset));
+                code.add(MethodInvocation.invoke(FINISHED));
+                code.addAll(shutDown);
+                code.add(MethodReturn.of(returnType));
+
+                Object[] localsWithEvent = frameLocals(instrumentedType, instrumentedMethod, STEP_EVENT);
+                code.add(new Mark(handler, localsWithEvent, THROWABLE));
+                code.add(readField(instrumentedType, REPORTER_FIELD));
+                code.add(REFERENCE.loadFrom(targetOffset));
+                code.add(MethodInvocation.invoke(FINISHED));
+                code.add(Throw.INSTANCE);
+                code.add(new Mark(toSuper, frameLocals(instrumentedType, instrumentedMethod)));
+            }
+
+            code.addAll(superCall);
+            code.addAll(shutDown);
+            code.add(MethodReturn.of(returnType));
+
+            StackManipulation.Size size = new StackManipulation.Compound(code)
+                    .apply(methodVisitor, implementationContext);
+            return new ByteCodeAppender.Size(size.getMaximalSize(),
+                    instrumentedMethod.getStackSize() + 1);
+        };
+    }
+
+    /**
+     * Describes local variables of a frame. They are {@code this}, parameters of the method and
+     * given additional variables.
+     */
+    private static Object[] frameLocals(TypeDescription instrumentedType, MethodDescription method,
+                                        String...additional) {
+        List<Object> locals = new ArrayList<>();
+        locals.add(instrumentedType.getInternalName());
+        for (ParameterDescription parameter: method.getParameters()) {
+            TypeDescription type = parameter.getType().asErasure();
+            if (type.represents(long.class)) {
+                locals.add(Opcodes.LONG);
+            }
+            else if (type.represents(double.class)) {
+                locals.add(Opcodes.DOUBLE);
+            }
+            else if (type.represents(float.class)) {
+                locals.add(Opcodes.FLOAT);
+            }
+            else if (type.isPrimitive()) {
+                locals.add(Opcodes.INTEGER);
+            }
+            else {
+                locals.add(type.getInternalName());
+            }
+        }
+        locals.addAll(asList(additional));
+        return locals.toArray();
+    }
+
+    /**
+     * Jumps to the label when the value on the top of the stack is {@code null}.
+     */
+    private static final class IfNull implements StackManipulation {
+        private final Label label;
+
+        private IfNull(Label label) {
+            this.label = label;
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Context implementationContext) {
+            methodVisitor.visitJumpInsn(Opcodes.IFNULL, label);
+            return new Size(-1, 0);
+        }
+    }
+
+    /**
+     * Marks a jump target. By default local variables are the same as on the method entry and the stack is empty.
+     * Otherwise local variables and the stack are described completely. {@code null} means that the label
+     * is not a jump target and there is no frame.
+     */
+    private static final class Mark implements StackManipulation {
+        private final Label label;
+        private final Object[] locals;
+        private final Object[] stack;
+        private final boolean hasFrame;
+
+        private Mark(Label label) {
+            this.label = label;
+            locals = null;
+            stack = new Object[0];
+            hasFrame = true;
+        }
+
+        private Mark(Label label, Object[] locals, Object...stack) {
+            this.label = label;
+            this.locals = locals;
+            this.stack = stack;
+            hasFrame = locals != null;
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Context implementationContext) {
+            methodVisitor.visitLabel(label);
+            if (!hasFrame) {
+                return new Size(0, 0);
+            }
+
+            if (locals == null) {
+                methodVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+            }
+            else {
+                methodVisitor.visitFrame(Opcodes.F_FULL, locals.length, locals, stack.length, stack);
+            }
+            return new Size(stack.length, stack.length);
+        }
+    }
+
+    /**
+     * Declares the handler of any {@link Throwable} which is thrown between given labels.
+     */
+    private static final class TryCatch implements StackManipulation {
+        private final Label start;
+        private final Label end;
+        private final Label handler;
+
+        private TryCatch(Label start, Label end, Label handler) {
+            this.start = start;
+            this.end = end;
+            this.handler = handler;
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Context implementationContext) {
+            methodVisitor.visitTryCatchBlock(start, end, handler, THROWABLE);
+            return new Size(0, 0);
+        }
+    }
+}
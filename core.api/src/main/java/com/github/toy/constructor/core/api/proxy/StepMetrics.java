@@ -0,0 +1,182 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import javax.management.ObjectName;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.github.toy.constructor.core.api.proxy.SubstitutionFlagProperties.STEP_METRICS;
+import static java.lang.String.format;
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Records latencies of methods annotated by {@link com.github.toy.constructor.core.api.ToBeReported} for each
+ * method and description of the step. The description consists of the constant part (see
+ * {@link com.github.toy.constructor.core.api.ToBeReported#constantMessagePart()}) and the description of the
+ * function or the action which is the only argument of the step. Other arguments, e.g. returned values, are not
+ * described. Messages of steps are not built to record latencies. Count of different descriptions is limited
+ * by {@value #MAX_DESCRIPTIONS}. Latencies of other steps are recorded for each method with the description
+ * {@value #OTHER}. Recording is turned off by default. It is turned on by the property
+ * {@code 'step.metrics'} (see {@link SubstitutionFlagProperties#STEP_METRICS}) or by {@link #setEnabled(boolean)}.
+ * Statistics are available via {@link #getStatistics()} and via JMX, see {@link StepMetricsMXBean}.
+ */
+public final class StepMetrics {
+
+    public static final String OBJECT_NAME = "com.github.toy.constructor:type=StepMetrics";
+
+    static final int MAX_DESCRIPTIONS = 500;
+    static final String OTHER = "other";
+
+    /**
+     * Are objects of a class described by their string values or not. Functions and actions which don't override
+     * {@link Object#toString()} are not described, their string values are different for each object.
+     */
+    private static final ClassValue<Boolean> DESCRIBED = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (!Function.class.isAssignableFrom(type) && !Consumer.class.isAssignableFrom(type)
+                    && !Supplier.class.isAssignableFrom(type)) {
+                return false;
+            }
+            try {
+                return !type.getMethod("toString").getDeclaringClass().equals(Object.class);
+            }
+            catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private static final Map<StepKey, StepHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = STEP_METRICS.get();
+
+    static {
+        try {
+            getPlatformMBeanServer().registerMBean(new StepMetricsBean(), new ObjectName(OBJECT_NAME));
+        }
+        catch (Exception e) {
+            String message = format("Step metrics are not available via JMX: %s", e);
+            LoggerRegistry.getLoggers().forEach(logger -> logger.log(message));
+        }
+    }
+
+    private StepMetrics() {
+        super();
+    }
+
+    static void record(StepEvent event, long finishedAt) {
+        StepKey key = new StepKey(event.getMethod(), describe(event));
+        StepHistogram histogram = HISTOGRAMS.get(key);
+        if (histogram == null) {
+            if (HISTOGRAMS.size() >= MAX_DESCRIPTIONS) {
+                key = new StepKey(event.getMethod(), OTHER);
+            }
+            histogram = HISTOGRAMS.computeIfAbsent(key, stepKey -> new StepHistogram());
+        }
+        histogram.record(finishedAt - event.getStartedAt());
+    }
+
+    private static String describe(StepEvent event) {
+        Object[] args = event.getArgs();
+        if (args.length != 1 || args[0] == null || !DESCRIBED.get(args[0].getClass())) {
+            return event.getConstantMessagePart();
+        }
+        return format("%s %s", event.getConstantMessagePart(), args[0]).trim();
+    }
+
+    /**
+     * @return are latencies of steps recorded or not.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns the recording of latencies on or off.
+     *
+     * @param enabled is the recording turned on or off.
+     */
+    public static void setEnabled(boolean enabled) {
+        StepMetrics.enabled = enabled;
+    }
+
+    /**
+     * @return snapshot of statistics of all measured steps. They are sorted by methods and descriptions.
+     */
+    public static List<StepStatistics> getStatistics() {
+        return HISTOGRAMS.entrySet().stream()
+                .map(entry -> {
+                    StepHistogram histogram = entry.getValue();
+                    return new StepStatistics(entry.getKey().method, entry.getKey().description,
+                            histogram.getCount(),
+                            histogram.getValueAtPercentile(50),
+                            histogram.getValueAtPercentile(99),
+                            histogram.getMax());
+                })
+                .sorted(comparing(StepStatistics::getMethod).thenComparing(StepStatistics::getDescription))
+                .collect(toList());
+    }
+
+    /**
+     * Removes all recorded latencies.
+     */
+    public static void reset() {
+        HISTOGRAMS.clear();
+    }
+
+    private static final class StepMetricsBean implements StepMetricsMXBean {
+
+        @Override
+        public List<StepStatistics> getStatistics() {
+            return StepMetrics.getStatistics();
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return StepMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            StepMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public void reset() {
+            StepMetrics.reset();
+        }
+    }
+
+    private static final class StepKey {
+        private final String method;
+        private final String description;
+
+        private StepKey(String method, String description) {
+            this.method = method;
+            this.description = description;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof StepKey)) {
+                return false;
+            }
+            StepKey that = (StepKey) obj;
+            return method.equals(that.method) && description.equals(that.description);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(method, description);
+        }
+    }
+}
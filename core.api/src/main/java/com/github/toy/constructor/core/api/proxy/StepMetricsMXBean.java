@@ -0,0 +1,31 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import java.util.List;
+
+/**
+ * JMX view of {@link StepMetrics}. It is registered as {@value StepMetrics#OBJECT_NAME}.
+ */
+public interface StepMetricsMXBean {
+
+    /**
+     * @return statistics of all measured steps.
+     */
+    List<StepStatistics> getStatistics();
+
+    /**
+     * @return are latencies of steps recorded or not.
+     */
+    boolean isEnabled();
+
+    /**
+     * Turns the recording of latencies on or off.
+     *
+     * @param enabled is the recording turned on or off.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Removes all recorded latencies.
+     */
+    void reset();
+}
@@ -0,0 +1,91 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Latencies of some step. The step is identified by the invoked method and its description.
+ * Latencies are measured in nanoseconds.
+ * @see StepMetrics
+ */
+public final class StepStatistics {
+
+    private final String method;
+    private final String description;
+    private final long count;
+    private final long p50;
+    private final long p99;
+    private final long max;
+
+    StepStatistics(String method, String description, long count, long p50, long p99, long max) {
+        this.method = method;
+        this.description = description;
+        this.count = count;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    /**
+     * Creates statistics by the data which is read via JMX.
+     *
+     * @param data to create statistics by.
+     * @return statistics.
+     */
+    public static StepStatistics from(CompositeData data) {
+        return new StepStatistics((String) data.get("method"),
+                (String) data.get("description"),
+                (Long) data.get("count"),
+                (Long) data.get("p50"),
+                (Long) data.get("p99"),
+                (Long) data.get("max"));
+    }
+
+    /**
+     * @return name of the invoked method in form {@code class name.method name}.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the description of the step. It is {@code "other"} for steps which descriptions are not
+     * counted separately, see {@link StepMetrics}.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return count of performed steps.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return median latency in nanoseconds.
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * @return 99th percentile of latencies in nanoseconds.
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * @return maximal latency in nanoseconds.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s]: count=%s, p50=%sns, p99=%sns, max=%sns", method, description, count,
+                p50, p99, max);
+    }
+}
@@ -4,83 +4,198 @@ import com.github.toy.constructor.core.api.GetStep;
 import com.github.toy.constructor.core.api.PerformStep;
 import com.github.toy.constructor.core.api.ToBeReported;
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.dynamic.loading.InjectionClassLoader;
-import net.sf.cglib.proxy.Callback;
-import net.sf.cglib.proxy.Enhancer;
 import org.objenesis.Objenesis;
 import org.objenesis.ObjenesisStd;
+import org.objenesis.instantiator.ObjectInstantiator;
 
 import java.lang.annotation.Annotation;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+import static com.github.toy.constructor.core.api.proxy.StepMethodImplementation.*;
+import static com.github.toy.constructor.core.api.proxy.SubstitutionFlagProperties.UNLOADABLE_SUBSTITUTED_CLASSES;
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.cache.CacheBuilder.newBuilder;
 import static java.lang.String.format;
+import static java.lang.reflect.Modifier.*;
+import static java.util.Arrays.asList;
+import static java.util.Arrays.stream;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toList;
-import static net.bytebuddy.implementation.MethodDelegation.to;
 import static net.bytebuddy.matcher.ElementMatchers.*;
-import static net.sf.cglib.proxy.Enhancer.registerCallbacks;
 
 public final class Substitution {
 
+    /**
+     * Suffix of names of subclasses which are generated at build time. See {@link SubstitutionGenerator}.
+     */
+    static final String PREGENERATED_SUFFIX = "$$Substitution";
+
+    /**
+     * Objenesis doesn't cache instantiators here. They are kept by {@link #INSTANTIATORS}
+     * which doesn't prevent generated classes from the unloading.
+     */
+    private static final Objenesis OBJENESIS = new ObjenesisStd(false);
+    /**
+     * Generated subclasses. They don't depend on loggers because the {@link OuterMethodInterceptor}
+     * and the {@link InnerInterceptor} are set to each created instance. So the key covers the class and annotations.
+     */
+    private static final Map<SubstitutionKey, Class<?>> SUBSTITUTED_CLASSES = new ConcurrentHashMap<>();
+    /**
+     * The same as {@link #SUBSTITUTED_CLASSES} for classes defined by disposable class loaders.
+     * Values are weak. So these classes may be unloaded when all created instances are gone.
+     * @see SubstitutionFlagProperties#UNLOADABLE_SUBSTITUTED_CLASSES
+     */
+    private static final Map<SubstitutionKey, Class<?>> UNLOADABLE_CLASSES = newBuilder().weakValues()
+            .<SubstitutionKey, Class<?>>build().asMap();
+    private static final ClassValue<ObjectInstantiator<?>> INSTANTIATORS = new ClassValue<>() {
+        @Override
+        protected ObjectInstantiator<?> computeValue(Class<?> type) {
+            return OBJENESIS.getInstantiatorOf(type);
+        }
+    };
+
     private Substitution() {
         super();
     }
 
-    private static List<Logger> loadSPI(List<Logger> additional) {
-        List<Logger> loggers = ServiceLoader.load(Logger.class)
-                .stream()
-                .map(ServiceLoader.Provider::get).collect(toList());
+    /**
+     * Checks whether subclasses of the given class may be defined out of its runtime package. It is possible
+     * when the class is public and it has no package-private constructors and methods to override.
+     */
+    private static boolean canBeSubclassedOutOfPackage(Class<?> clazz) {
+        if (!isPublic(clazz.getModifiers())) {
+            return false;
+        }
 
-        List<? extends Class<? extends Logger>> loggerClasses =
-                loggers.stream().map(Logger::getClass).collect(toList());
+        Class<?> current = clazz;
+        while (current != null && !current.equals(Object.class)) {
+            boolean hasPackagePrivateMembers = stream(current.getDeclaredConstructors())
+                    .anyMatch(Substitution::isPackagePrivate) ||
+                    stream(current.getDeclaredMethods())
+                            .filter(method -> !isStatic(method.getModifiers()))
+                            .anyMatch(Substitution::isPackagePrivate);
+            if (hasPackagePrivateMembers) {
+                return false;
+            }
+            current = current.getSuperclass();
+        }
+        return true;
+    }
 
-        loggers.addAll(additional
-                .stream()
-                .filter(logger -> !loggerClasses.contains(ofNullable(logger).map(Logger::getClass).orElse(null)))
-                .collect(toList()));
-        return loggers;
+    private static boolean isPackagePrivate(Executable executable) {
+        int modifiers = executable.getModifiers();
+        return !isPublic(modifiers) && !isProtected(modifiers) && !isPrivate(modifiers);
     }
 
     /**
      * This is the service method which generates a subclass
      * of the given implementor of {@link com.github.toy.constructor.core.api.GetStep} and/or
-     * {@link com.github.toy.constructor.core.api.PerformStep}.
+     * {@link com.github.toy.constructor.core.api.PerformStep}. The same generated subclass is used to create
+     * the instance returned to the user and instances which really perform steps. See {@link StepMethodImplementation}.
      *
      * @param clazz to substitute. It should be the implementor of {@link com.github.toy.constructor.core.api.GetStep}
      *                    and/or {@link com.github.toy.constructor.core.api.PerformStep}.
-     *
+     * @param name of the generated subclass. A random name is used when it is {@code null}.
      * @param annotations to set to methods that marked by {@link com.github.toy.constructor.core.api.ToBeReported}.
      *                    These annotations should describe steps. Their description should be like {@value {0}} or
      *                    some string convenient to the formatting with a single parameter.
-     * @return generated sub-class.
+     * @return generated sub-class which is not loaded yet.
      */
-    private static <T> Class<? extends T> substitute(Class<T> clazz,
-                                                     List<Logger> loggers,
-                                                    Annotation...annotations) throws Exception {
-        checkArgument(PerformStep.class.isAssignableFrom(clazz) ||
-                GetStep.class.isAssignableFrom(clazz), "Class to substitute should be " +
-                "assignable from com.github.toy.constructor.core.api.GetStep and/or " +
-                "com.github.toy.constructor.core.api.PerformStep.");
-        DynamicType.Builder<? extends T> builder = new ByteBuddy().subclass(clazz);
+    static <T> DynamicType.Unloaded<? extends T> make(Class<T> clazz, String name, Annotation...annotations) {
+        DynamicType.Builder<? extends T> builder = new ByteBuddy().subclass(clazz)
+                .defineField(DISPATCHER_FIELD, OuterMethodInterceptor.class, Visibility.PRIVATE)
+                .defineField(REPORTER_FIELD, InnerInterceptor.class, Visibility.PRIVATE);
+        if (name != null) {
+            builder = builder.name(name);
+        }
 
-        InnerInterceptor interceptor = new InnerInterceptor(loadSPI(loggers));
         return builder.method(isAnnotatedWith(ToBeReported.class))
-                .intercept(to(interceptor))
+                .intercept(STEP_METHOD)
                 .annotateMethod(annotations)
                 .method(not(isAnnotatedWith(ToBeReported.class)))
-                .intercept(to(interceptor))
-                .make()
-                .load(InjectionClassLoader.getSystemClassLoader(), ClassLoadingStrategy.UsingLookup.of(MethodHandles
+                .intercept(STEP_METHOD)
+                .make();
+    }
+
+    /**
+     * Returns the name of the subclass which may be generated at build time.
+     * See {@link SubstitutionGenerator}.
+     *
+     * @param clazz to substitute.
+     * @return name of the pregenerated subclass.
+     */
+    static String getPregeneratedName(Class<?> clazz) {
+        return clazz.getName() + PREGENERATED_SUFFIX;
+    }
+
+    /**
+     * Finds the subclass which was generated at build time. It is used when there are no annotations
+     * to set to methods and the generated class is not supposed to be unloaded.
+     *
+     * @return found class or {@code null} when there is no suitable pregenerated class.
+     */
+    private static <T> Class<? extends T> findPregenerated(Class<T> clazz) {
+        Class<?> found;
+        try {
+            found = Class.forName(getPregeneratedName(clazz), false, clazz.getClassLoader());
+        }
+        catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+
+        if (!clazz.equals(found.getSuperclass())) {
+            return null;
+        }
+        return found.asSubclass(clazz);
+    }
+
+    private static <T> Class<? extends T> substitute(Class<T> clazz,
+                                                     boolean unloadable,
+                                                     Annotation...annotations) throws Exception {
+        if (!unloadable && annotations.length == 0) {
+            Class<? extends T> pregenerated = findPregenerated(clazz);
+            if (pregenerated != null) {
+                return pregenerated;
+            }
+        }
+
+        DynamicType.Unloaded<? extends T> unloaded = make(clazz, null, annotations);
+        if (unloadable) {
+            return unloaded.load(clazz.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+        }
+        return unloaded.load(InjectionClassLoader.getSystemClassLoader(), ClassLoadingStrategy.UsingLookup.of(MethodHandles
                         .privateLookupIn(clazz, MethodHandles.lookup())))
                 .getLoaded();
     }
 
+    private static <T> Class<? extends T> getSubstitutedClass(Class<T> clazz,
+                                                              boolean unloadable,
+                                                              Annotation...annotations) throws Exception {
+        Map<SubstitutionKey, Class<?>> cache = unloadable ? UNLOADABLE_CLASSES : SUBSTITUTED_CLASSES;
+        SubstitutionKey key = new SubstitutionKey(clazz, annotations);
+        Class<?> substituted = cache.get(key);
+        if (substituted != null) {
+            return substituted.asSubclass(clazz);
+        }
+
+        synchronized (cache) {
+            substituted = cache.get(key);
+            if (substituted == null) {
+                substituted = substitute(clazz, unloadable, annotations);
+                cache.put(key, substituted);
+            }
+        }
+        return substituted.asSubclass(clazz);
+    }
+
     /**
      * This is the service method which creates an instance of the given implementor of
      * {@link com.github.toy.constructor.core.api.GetStep} and/or {@link com.github.toy.constructor.core.api.PerformStep}.
@@ -107,22 +222,58 @@ public final class Substitution {
                                        Function<T, T> manipulationWithObjectToReturn,
                                        List<Logger> loggers,
                                        Annotation...annotations) throws Exception {
-        Class<? extends T> toInstantiate =
-                manipulationWithClassToInstantiate.apply(substitute(clazz, loggers, annotations));
+        return getSubstituted(clazz, constructorParameters, manipulationWithClassToInstantiate,
+                manipulationWithObjectToReturn, loggers, InstanceScope.PER_THREAD, 1, annotations);
+    }
 
-        Enhancer enhancer = new Enhancer();
-        OuterMethodInterceptor<T> interceptor =
-                new OuterMethodInterceptor<>(clazz, (Class<T>) toInstantiate, constructorParameters, manipulationWithObjectToReturn);
+    /**
+     * This is the service method which creates an instance of the given implementor of
+     * {@link com.github.toy.constructor.core.api.GetStep} and/or {@link com.github.toy.constructor.core.api.PerformStep}.
+     *
+     * @param clazz to substitute. It should be the implementor of {@link com.github.toy.constructor.core.api.GetStep}
+     *                    and/or {@link com.github.toy.constructor.core.api.PerformStep}.
+     *
+     * @param constructorParameters is a POJO with wrapped parameters of required constructor.
+     * @param manipulationWithClassToInstantiate is a function which transforms class to be instantiated, e.g bytecode
+     *                                            operations by CGLIB or Byte Buddy etc.
+     * @param manipulationWithObjectToReturn is a function which transforms created object, e.g creating proxy,
+     *                                        changing some attributes etc.
+     * @param loggers list of custom loggers. see {@link Logger}
+     * @param scope defines which instance really performs steps. See {@link InstanceScope}
+     * @param poolSize max count of instances which may be created when the {@link InstanceScope#POOLED} is used.
+     * @param annotations to set to methods that marked by {@link com.github.toy.constructor.core.api.ToBeReported}.
+     *                    These annotations should describe steps. Their description should be like {@value {0}} or
+     *                    some string convenient to the formatting with a single parameter.
+     * @param <T> type of the implementor of {@link com.github.toy.constructor.core.api.GetStep} and/or
+     * {@link com.github.toy.constructor.core.api.PerformStep}.
+     * @return an instance.
+     */
+    public static <T> T getSubstituted(Class<T> clazz,
+                                       ConstructorParameters constructorParameters,
+                                       Function<Class<? extends T>, Class<? extends T>> manipulationWithClassToInstantiate,
+                                       Function<T, T> manipulationWithObjectToReturn,
+                                       List<Logger> loggers,
+                                       InstanceScope scope,
+                                       int poolSize,
+                                       Annotation...annotations) throws Exception {
+        checkArgument(PerformStep.class.isAssignableFrom(clazz) ||
+                GetStep.class.isAssignableFrom(clazz), "Class to substitute should be " +
+                "assignable from com.github.toy.constructor.core.api.GetStep and/or " +
+                "com.github.toy.constructor.core.api.PerformStep.");
+        boolean unloadable = UNLOADABLE_SUBSTITUTED_CLASSES.get() && canBeSubclassedOutOfPackage(clazz);
 
-        enhancer.setUseCache(false);
-        enhancer.setCallbackType(OuterMethodInterceptor.class);
-        enhancer.setSuperclass(clazz);
-        Class<?> proxyClass = enhancer.createClass();
-        registerCallbacks(proxyClass, new Callback[]{interceptor});
-        enhancer.setClassLoader(clazz.getClassLoader());
+        Class<? extends T> substitutedClass = getSubstitutedClass(clazz, unloadable, annotations);
+        Class<? extends T> toInstantiate = manipulationWithClassToInstantiate.apply(substitutedClass);
+        checkArgument(substitutedClass.isAssignableFrom(toInstantiate), format("Class to instantiate should be " +
+                "assignable from %s", substitutedClass.getName()));
 
-        Objenesis objenesis = new ObjenesisStd();
-        return (T) objenesis.newInstance(proxyClass);
+        OuterMethodInterceptor<T> interceptor = new OuterMethodInterceptor<>(substitutedClass,
+                toInstantiate, constructorParameters, manipulationWithObjectToReturn, LoggerRegistry.getReporter(loggers),
+                scope, poolSize);
+
+        T substituted = substitutedClass.cast(INSTANTIATORS.get(substitutedClass).newInstance());
+        setDispatcher(substituted, interceptor);
+        return substituted;
     }
 
     /**
@@ -164,7 +315,7 @@ public final class Substitution {
         defaultConstructor.setAccessible(true);
 
         return getSubstituted(clazz, defaultConstructor.newInstance().provide(), manipulationWithClassToInstantiate,
-                manipulationWithObjectToReturn, loggers, annotations);
+                manipulationWithObjectToReturn, loggers, createWith.scope(), createWith.poolSize(), annotations);
     }
 
     /**
@@ -252,4 +403,49 @@ public final class Substitution {
                                        Annotation...annotations) throws Exception {
         return getSubstituted(clazz, List.of(), annotations);
     }
+
+    /**
+     * Releases the instance which performs steps of the given substituted instance in the current thread
+     * or within the current {@link TestScope}. The released instance is returned to the pool when
+     * the {@link InstanceScope#POOLED} is used. Otherwise it is shut down when it
+     * is {@link com.github.toy.constructor.core.api.Stoppable}. A new instance is created or leased
+     * when some step is performed after that.
+     *
+     * @param substituted instance which was returned by {@code getSubstituted}
+     */
+    public static void release(Object substituted) {
+        checkArgument(substituted != null, "Substituted instance should not be null");
+        OuterMethodInterceptor<?> dispatcher = getDispatcher(substituted);
+        checkArgument(dispatcher != null, format("%s is not a substituted instance", substituted));
+        dispatcher.release();
+    }
+
+    private static final class SubstitutionKey {
+        private final Class<?> clazz;
+        private final List<Annotation> annotations;
+        private final int hashCode;
+
+        private SubstitutionKey(Class<?> clazz, Annotation...annotations) {
+            this.clazz = clazz;
+            this.annotations = asList(annotations.clone());
+            hashCode = Objects.hash(clazz, this.annotations);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof SubstitutionKey)) {
+                return false;
+            }
+            SubstitutionKey that = (SubstitutionKey) obj;
+            return clazz.equals(that.clazz) && annotations.equals(that.annotations);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
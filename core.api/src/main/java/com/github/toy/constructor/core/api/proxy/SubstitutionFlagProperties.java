@@ -0,0 +1,48 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import com.github.toy.constructor.core.api.PropertySupplier;
+
+public enum SubstitutionFlagProperties implements PropertySupplier<Boolean> {
+    /**
+     * This enum item reads the property {@code 'unloadable.substituted.classes'}. It means that classes
+     * generated by {@link Substitution} are defined by disposable class loaders if the property is defined and
+     * has value {@code true}. Such classes are unloaded when there are no more instances created by them.
+     * WARNING!!! It is applied only to public classes which have no package-private constructors and methods.
+     * Other classes are defined in the package of the substituted class as usual.
+     */
+    UNLOADABLE_SUBSTITUTED_CLASSES("unloadable.substituted.classes"),
+
+    /**
+     * This enum item reads the property {@code 'async.logging'}. It means that messages about steps are delivered
+     * to loggers by a separate thread if the property is defined and has value {@code true}. Then a slow logger
+     * doesn't stall the thread which performs steps. Delivery is tuned by {@link AsyncLoggingProperties} and
+     * {@link AsyncLoggingProperties.BackPressureProperties}. Messages which are not delivered yet are flushed
+     * when a substituted {@link com.github.toy.constructor.core.api.Stoppable} is shut down and when the JVM
+     * is shut down.
+     */
+    ASYNC_LOGGING("async.logging"),
+
+    /**
+     * This enum item reads the property {@code 'step.metrics'}. It means that latencies of methods
+     * annotated by {@link com.github.toy.constructor.core.api.ToBeReported} are recorded if the property
+     * is defined and has value {@code true}. The property is read once. See {@link StepMetrics}.
+     */
+    STEP_METRICS("step.metrics");
+
+    private final String propertyName;
+
+    SubstitutionFlagProperties(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    @Override
+    public Boolean get() {
+        return returnOptionalFromEnvironment()
+                .map(Boolean::parseBoolean).orElse(false);
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import com.github.toy.constructor.core.api.GetStep;
+import com.github.toy.constructor.core.api.PerformStep;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.github.toy.constructor.core.api.proxy.Substitution.PREGENERATED_SUFFIX;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getPregeneratedName;
+import static com.github.toy.constructor.core.api.proxy.Substitution.make;
+import static java.lang.String.format;
+import static java.lang.reflect.Modifier.isFinal;
+import static java.lang.reflect.Modifier.isPrivate;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Generates subclasses of classes annotated by {@link CreateWith} at build time. {@link Substitution} loads
+ * these classes instead of generating them at runtime. So the startup of each JVM is faster.
+ * It is invoked by the {@code generateSubstitutions} task of the build like
+ * <pre>{@code
+ * java SubstitutionGenerator <output directory> <directory of compiled classes>...
+ * }</pre>
+ * Compiled classes and their dependencies should be on the class path.
+ */
+public final class SubstitutionGenerator {
+
+    private SubstitutionGenerator() {
+        super();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException(format("Usage: java %s <output directory> <directory of " +
+                    "compiled classes>...", SubstitutionGenerator.class.getName()));
+        }
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        List<Class<?>> found = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            for (String name : findClassNames(Paths.get(args[i]))) {
+                try {
+                    Class<?> clazz = Class.forName(name, false, classLoader);
+                    if (clazz.getAnnotation(CreateWith.class) != null) {
+                        found.add(clazz);
+                    }
+                }
+                catch (ClassNotFoundException | LinkageError e) {
+                    System.err.println(format("%s is skipped. %s", name, e));
+                }
+            }
+        }
+
+        List<String> generated = generate(Paths.get(args[0]), found);
+        System.out.println(format("%s substituted classes are generated", generated.size()));
+    }
+
+    private static List<String> findClassNames(Path classes) throws IOException {
+        if (!Files.isDirectory(classes)) {
+            return List.of();
+        }
+
+        try (Stream<Path> paths = Files.walk(classes)) {
+            return paths.filter(path -> path.toString().endsWith(".class"))
+                    .map(path -> classes.relativize(path).toString())
+                    .map(path -> path.substring(0, path.length() - ".class".length())
+                            .replace(File.separatorChar, '.'))
+                    .filter(name -> !name.endsWith("module-info") && !name.endsWith(PREGENERATED_SUFFIX))
+                    .collect(toList());
+        }
+    }
+
+    /**
+     * Generates subclasses of the given classes and saves them to the given directory.
+     * Classes which can't be substituted are skipped.
+     *
+     * @param output directory to save generated classes.
+     * @param classes to substitute. They should be the implementors of {@link GetStep} and/or {@link PerformStep}.
+     * @return names of generated classes.
+     * @throws IOException when it is impossible to save generated classes.
+     */
+    public static List<String> generate(Path output, Collection<Class<?>> classes) throws IOException {
+        List<String> generated = new ArrayList<>();
+        for (Class<?> clazz : classes) {
+            int modifiers = clazz.getModifiers();
+            if (clazz.isInterface() || isFinal(modifiers) || isPrivate(modifiers) ||
+                    !(PerformStep.class.isAssignableFrom(clazz) || GetStep.class.isAssignableFrom(clazz))) {
+                continue;
+            }
+
+            String name = getPregeneratedName(clazz);
+            make(clazz, name).saveIn(output.toFile());
+            generated.add(name);
+        }
+        return generated;
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.toy.constructor.core.api.proxy;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * Scope of instances which really perform steps, e.g. a test. Instances of {@link InstanceScope#PER_TEST} and
+ * {@link InstanceScope#POOLED} substitutions are bound to the scope which is open by the current thread.
+ * The scope may be passed to threads of some pool by {@link #wrap(Runnable)} and {@link #wrap(Callable)}.
+ * <pre>{@code
+ * try (TestScope scope = TestScope.open()) {
+ *     executor.submit(scope.wrap(() -> steps.perform(someAction)));
+ *     ...
+ * }
+ * }</pre>
+ */
+public final class TestScope implements AutoCloseable {
+
+    private static final ThreadLocal<TestScope> CURRENT = new ThreadLocal<>();
+
+    private final Map<OuterMethodInterceptor<?>, Lease> targets = new ConcurrentHashMap<>();
+    private final TestScope previous;
+    private volatile boolean closed;
+
+    private TestScope(TestScope previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Opens new scope and binds it to the current thread.
+     *
+     * @return new scope
+     */
+    public static TestScope open() {
+        TestScope scope = new TestScope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static TestScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns the instance which is bound to this scope. The instance is acquired when it is necessary.
+     * Threads which need instances of different substitutions don't wait for each other. Nothing is acquired
+     * when the scope is closed. The flag is checked under the lock of the lease which is also taken
+     * by {@link #close()}, so an instance which is acquired concurrently with the closing is released by it.
+     */
+    <T> T getTarget(OuterMethodInterceptor<T> interceptor) throws Throwable {
+        while (true) {
+            Lease lease = targets.computeIfAbsent(interceptor, i -> new Lease());
+            Object target = lease.target;
+            if (target != null) {
+                return interceptor.cast(target);
+            }
+
+            synchronized (lease) {
+                if (closed) {
+                    throw new IllegalStateException(format("The %s is already closed", TestScope.class.getName()));
+                }
+                if (lease.removed) {
+                    continue;
+                }
+                if (lease.target == null) {
+                    lease.target = interceptor.acquire();
+                }
+                return interceptor.cast(lease.target);
+            }
+        }
+    }
+
+    Object remove(OuterMethodInterceptor<?> interceptor) {
+        Lease lease = targets.remove(interceptor);
+        if (lease == null) {
+            return null;
+        }
+
+        synchronized (lease) {
+            Object target = lease.target;
+            lease.target = null;
+            lease.removed = true;
+            return target;
+        }
+    }
+
+    private TestScope enter() {
+        TestScope bound = CURRENT.get();
+        CURRENT.set(this);
+        return bound;
+    }
+
+    private static void restore(TestScope scope) {
+        if (scope == null) {
+            CURRENT.remove();
+        }
+        else {
+            CURRENT.set(scope);
+        }
+    }
+
+    /**
+     * Makes the given task work within this scope in any thread.
+     *
+     * @param task to be performed within this scope
+     * @return wrapped task
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            TestScope bound = enter();
+            try {
+                task.run();
+            }
+            finally {
+                restore(bound);
+            }
+        };
+    }
+
+    /**
+     * Makes the given task work within this scope in any thread.
+     *
+     * @param task to be performed within this scope
+     * @param <V> type of the result
+     * @return wrapped task
+     */
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return () -> {
+            TestScope bound = enter();
+            try {
+                return task.call();
+            }
+            finally {
+                restore(bound);
+            }
+        };
+    }
+
+    /**
+     * Releases instances which were used within this scope. Instances of the pool are returned, other instances
+     * are shut down when they are {@link com.github.toy.constructor.core.api.Stoppable}. The previous scope
+     * becomes current when this scope is closed by the thread which has opened it.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        targets.keySet().forEach(interceptor -> {
+            Object target = remove(interceptor);
+            if (target != null) {
+                interceptor.release(target);
+            }
+        });
+
+        if (CURRENT.get() == this) {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Instance of some substitution which is bound to the scope. It is acquired once. A removed lease
+     * is not used anymore.
+     */
+    private static final class Lease {
+        private volatile Object target;
+        private boolean removed;
+    }
+}
@@ -1,11 +1,14 @@
 package com.github.toy.constructor.core.api.reflection;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 import static java.lang.String.format;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.methodType;
 import static java.util.Arrays.asList;
 import static java.util.Map.entry;
 import static java.util.Optional.ofNullable;
@@ -23,11 +26,27 @@ public final class ConstructorUtil {
                     entry(Double.class, double.class),
                     entry(Character.class, char.class));
 
+    /**
+     * Constructors which were found for each class. They are kept by classes themselves.
+     */
+    private static final ClassValue<ResolvedConstructors> RESOLVED_CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected ResolvedConstructors computeValue(Class<?> type) {
+            return new ResolvedConstructors();
+        }
+    };
+
     private ConstructorUtil() {
         super();
     }
 
-    public static <T> Constructor<T> findSuitableConstructor(Class<T> clazz, Object...params) throws Exception {
+    private static ResolvedConstructor resolve(Class<?> clazz, Object...params) throws Exception {
+        ResolvedConstructors resolvedConstructors = RESOLVED_CONSTRUCTORS.get(clazz);
+        ResolvedConstructor resolved = resolvedConstructors.find(params);
+        if (resolved != null) {
+            return resolved;
+        }
+
         List<Constructor<?>> constructorList = asList(clazz.getDeclaredConstructors());
         final List<Class<?>> paramTypes = Arrays.stream(params).map(o -> ofNullable(o)
                 .map(Object::getClass)
@@ -41,7 +60,37 @@ public final class ConstructorUtil {
                 .findFirst().orElseThrow(() -> new NoSuchMethodException(
                         format("There is no constructor that convenient to parameter list %s", paramTypes)));
         foundConstructor.setAccessible(true);
-        return (Constructor<T>) foundConstructor;
+        return resolvedConstructors.add(new ResolvedConstructor(paramTypes.toArray(new Class<?>[0]), foundConstructor));
+    }
+
+    /**
+     * Finds a constructor which is convenient to given parameters. Constructors are resolved once for each
+     * combination of the class and types of parameters.
+     *
+     * @param clazz to find a constructor of.
+     * @param params are parameters of the constructor to find.
+     * @param <T> type of the class.
+     * @return accessible constructor.
+     * @throws Exception when there is no convenient constructor.
+     */
+    @SuppressWarnings("unchecked") //the constructor is found among constructors of the given class
+    public static <T> Constructor<T> findSuitableConstructor(Class<T> clazz, Object...params) throws Exception {
+        return (Constructor<T>) resolve(clazz, params).constructor;
+    }
+
+    /**
+     * Finds a constructor which is convenient to given parameters and returns it as a method handle.
+     * The handle has the type {@code (Object[])Object}. It accepts the array of parameters and returns
+     * created instance. Exceptions thrown by the constructor are thrown by the handle as they are.
+     * Constructors are resolved once for each combination of the class and types of parameters.
+     *
+     * @param clazz to find a constructor of.
+     * @param params are parameters of the constructor to find.
+     * @return method handle of the constructor.
+     * @throws Exception when there is no convenient constructor.
+     */
+    public static MethodHandle findSuitableConstructorHandle(Class<?> clazz, Object...params) throws Exception {
+        return resolve(clazz, params).handle;
     }
 
     private static boolean matches(List<Class<?>> constructorTypes,
@@ -77,4 +126,56 @@ public final class ConstructorUtil {
         }
         return true;
     }
+
+    private static final class ResolvedConstructor {
+        private final Class<?>[] paramTypes;
+        private final Constructor<?> constructor;
+        private final MethodHandle handle;
+
+        private ResolvedConstructor(Class<?>[] paramTypes, Constructor<?> constructor) throws IllegalAccessException {
+            this.paramTypes = paramTypes;
+            this.constructor = constructor;
+            handle = lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(methodType(Object.class, Object[].class));
+        }
+
+        private boolean matches(Object[] params) {
+            if (params.length != paramTypes.length) {
+                return false;
+            }
+            for (int i = 0; i < params.length; i++) {
+                Object param = params[i];
+                if ((param == null ? null : param.getClass()) != paramTypes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Constructors of a class which were resolved for different types of parameters. There are a few
+     * of them for each class, so they are looked through without any allocation.
+     */
+    private static final class ResolvedConstructors {
+        private volatile ResolvedConstructor[] resolved = new ResolvedConstructor[0];
+
+        private ResolvedConstructor find(Object[] params) {
+            for (ResolvedConstructor resolvedConstructor: resolved) {
+                if (resolvedConstructor.matches(params)) {
+                    return resolvedConstructor;
+                }
+            }
+            return null;
+        }
+
+        private synchronized ResolvedConstructor add(ResolvedConstructor resolvedConstructor) {
+            ResolvedConstructor[] current = resolved;
+            ResolvedConstructor[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = resolvedConstructor;
+            resolved = updated;
+            return resolvedConstructor;
+        }
+    }
 }
@@ -56,6 +56,16 @@ public class ActionSupplierTest {
                 is("Clean string value ABCD of given strings. With parameters: {ABCD}"));
     }
 
+    @Test
+    public void resultActionDescriptionOfChangedArguments() {
+        String[] arguments = {"A", "B"};
+        CleanStringAction action = new CleanStringAction().andThen("ABCD", arguments);
+        arguments[0] = "C";
+
+        assertThat("Description of result action", action.get().toString(),
+                is("Clean string value ABCD of given strings. With parameters: {ABCD,A,B}"));
+    }
+
     static class CleanStringAction extends SequentialActionSupplier<Object, String, CleanStringAction> {
 
         public CleanStringAction() {
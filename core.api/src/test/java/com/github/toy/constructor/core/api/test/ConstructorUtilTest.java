@@ -0,0 +1,62 @@
+package com.github.toy.constructor.core.api.test;
+
+import org.testng.annotations.Test;
+
+import static com.github.toy.constructor.core.api.reflection.ConstructorUtil.findSuitableConstructor;
+import static com.github.toy.constructor.core.api.reflection.ConstructorUtil.findSuitableConstructorHandle;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ConstructorUtilTest {
+
+    @Test
+    public void resolvedConstructorIsReusedTest() throws Exception {
+        assertThat(findSuitableConstructor(ClassToInstantiate.class, "String", 1),
+                sameInstance(findSuitableConstructor(ClassToInstantiate.class, "Another string", 2)));
+        assertThat(findSuitableConstructorHandle(ClassToInstantiate.class, "String", 1),
+                sameInstance(findSuitableConstructorHandle(ClassToInstantiate.class, "Another string", 2)));
+    }
+
+    @Test
+    public void constructorDependsOnTypesOfParametersTest() throws Exception {
+        assertThat(findSuitableConstructor(ClassToInstantiate.class, "String", 1),
+                not(sameInstance(findSuitableConstructor(ClassToInstantiate.class, "String", true))));
+    }
+
+    @Test
+    public void constructorHandleTest() throws Throwable {
+        Object[] params = new Object[] {"String", true};
+        Object instance = findSuitableConstructorHandle(ClassToInstantiate.class, params).invokeExact(params);
+
+        assertThat(((ClassToInstantiate) instance).description, is("String true"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class, expectedExceptionsMessageRegExp = "Test exception")
+    public void exceptionOfConstructorHandleTest() throws Throwable {
+        Object[] params = new Object[] {1};
+        Object ignored = findSuitableConstructorHandle(ClassToInstantiate.class, params).invokeExact(params);
+    }
+
+    @Test(expectedExceptions = NoSuchMethodException.class)
+    public void noSuitableConstructorTest() throws Exception {
+        findSuitableConstructor(ClassToInstantiate.class, 1, 2, 3);
+    }
+
+    private static class ClassToInstantiate {
+        private final String description;
+
+        private ClassToInstantiate(String string, int number) {
+            description = string + " " + number;
+        }
+
+        private ClassToInstantiate(String string, Boolean flag) {
+            description = string + " " + flag;
+        }
+
+        private ClassToInstantiate(int number) {
+            throw new IllegalStateException("Test exception");
+        }
+    }
+}
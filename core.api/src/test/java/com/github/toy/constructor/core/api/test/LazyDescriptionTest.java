@@ -0,0 +1,99 @@
+package com.github.toy.constructor.core.api.test;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.github.toy.constructor.core.api.StoryWriter.action;
+import static com.github.toy.constructor.core.api.StoryWriter.condition;
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.testng.Assert.fail;
+
+public class LazyDescriptionTest {
+
+    private static Supplier<String> countedDescription(AtomicInteger counter, String description) {
+        return () -> {
+            counter.incrementAndGet();
+            return description;
+        };
+    }
+
+    @Test
+    public void lazyFunctionDescriptionTest() {
+        AtomicInteger counter = new AtomicInteger();
+        Function<Integer, Integer> function = toGet(countedDescription(counter, "Incremented value"),
+                integer -> integer + 1);
+
+        assertThat(function.apply(1), is(2));
+        assertThat(counter.get(), is(0));
+
+        assertThat(function.toString(), is("Incremented value"));
+        assertThat(function.toString(), is("Incremented value"));
+        assertThat(counter.get(), is(1));
+    }
+
+    @Test
+    public void lazyActionDescriptionTest() {
+        AtomicInteger counter = new AtomicInteger();
+        AtomicInteger performed = new AtomicInteger();
+        Consumer<Integer> action = action(countedDescription(counter, "Add value"), performed::addAndGet);
+        Consumer<Integer> chain = action.andThen(action("Add value again", performed::addAndGet));
+
+        chain.accept(2);
+        assertThat(performed.get(), is(4));
+        assertThat(counter.get(), is(0));
+
+        assertThat(chain.toString(), is("Add value again"));
+        assertThat(action.toString(), is("Add value"));
+        assertThat(action.toString(), is("Add value"));
+        assertThat(counter.get(), is(1));
+    }
+
+    @Test
+    public void lazyConditionDescriptionTest() {
+        AtomicInteger counter = new AtomicInteger();
+        Predicate<Integer> condition = condition(countedDescription(counter, "Is positive"),
+                integer -> integer > 0);
+
+        assertThat(condition.test(1), is(true));
+        assertThat(counter.get(), is(0));
+
+        assertThat(condition.and(condition("Is lower than ten", integer -> integer < 10)).toString(),
+                is("(Is positive) AND (Is lower than ten)"));
+        assertThat(condition.toString(), is("Is positive"));
+        assertThat(counter.get(), is(1));
+    }
+
+    @Test
+    public void emptyLazyDescriptionTest() {
+        assertThat(toGet(() -> " ", integer -> integer).toString(), is("<no description>"));
+        assertThat(action(() -> null, integer -> {}).toString(), is("<no description>"));
+        assertThat(condition(() -> "", integer -> true).toString(), is("<no description>"));
+    }
+
+    @Test
+    public void failedLazyDescriptionTest() {
+        Function<Integer, Integer> function = toGet(() -> {
+            throw new IllegalStateException("Test exception");
+        }, integer -> integer);
+        assertThat(function.toString(),
+                is("<no description> (java.lang.IllegalStateException: Test exception)"));
+    }
+
+    @Test
+    public void emptyDescriptionTest() {
+        try {
+            toGet(" ", integer -> integer);
+            fail("The exception throwing was expected");
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("Description should not be empty"));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.toy.constructor.core.api.test;
+
+import com.github.toy.constructor.core.api.PollingStrategy;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.github.toy.constructor.core.api.PollingProperties.DEFAULT_POLLING_STRATEGY;
+import static com.github.toy.constructor.core.api.PollingStrategies.EXPONENTIAL_WITH_JITTER;
+import static com.github.toy.constructor.core.api.PollingStrategies.FAST_FIRST;
+import static com.github.toy.constructor.core.api.PollingStrategies.FIXED;
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.ToGetSingleCheckedObject.getSingle;
+import static java.lang.System.currentTimeMillis;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.fail;
+
+public class PollingStrategyTest {
+
+    private static final Duration SLEEPING = ofMillis(50);
+
+    @AfterMethod(alwaysRun = true)
+    public void afterEach() {
+        System.getProperties().remove(DEFAULT_POLLING_STRATEGY.getPropertyName());
+        CountingStrategy.COUNTER.set(0);
+    }
+
+    @Test
+    public void fixedStrategyTest() {
+        assertThat(FIXED.nextSleeping(1, SLEEPING), is(SLEEPING));
+        assertThat(FIXED.nextSleeping(100, SLEEPING), is(SLEEPING));
+    }
+
+    @Test
+    public void exponentialStrategyTest() {
+        assertThat(EXPONENTIAL_WITH_JITTER.nextSleeping(1, SLEEPING),
+                both(greaterThanOrEqualTo(ofMillis(25))).and(lessThanOrEqualTo(SLEEPING)));
+        assertThat(EXPONENTIAL_WITH_JITTER.nextSleeping(3, SLEEPING),
+                both(greaterThanOrEqualTo(ofMillis(100))).and(lessThanOrEqualTo(ofMillis(200))));
+        assertThat(EXPONENTIAL_WITH_JITTER.nextSleeping(100, SLEEPING),
+                both(greaterThanOrEqualTo(ofMillis(400))).and(lessThanOrEqualTo(ofMillis(800))));
+    }
+
+    @Test
+    public void fastFirstStrategyTest() {
+        assertThat(FAST_FIRST.nextSleeping(1, SLEEPING), is(ofMillis(5)));
+        assertThat(FAST_FIRST.nextSleeping(3, SLEEPING), is(ofMillis(5)));
+        assertThat(FAST_FIRST.nextSleeping(4, SLEEPING),
+                both(greaterThanOrEqualTo(ofMillis(25))).and(lessThanOrEqualTo(SLEEPING)));
+    }
+
+    @Test
+    public void defaultStrategyPropertyTest() {
+        assertThat(DEFAULT_POLLING_STRATEGY.get(), is(FIXED));
+
+        DEFAULT_POLLING_STRATEGY.accept("fast_first");
+        assertThat(DEFAULT_POLLING_STRATEGY.get(), is(FAST_FIRST));
+
+        DEFAULT_POLLING_STRATEGY.accept(CountingStrategy.class.getName());
+        assertThat(DEFAULT_POLLING_STRATEGY.get(), instanceOf(CountingStrategy.class));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "Property: DEFAULT_POLLING_STRATEGY. Unidentified polling strategy " +
+                    "unknown. Please take a look at elements of com.github.toy.constructor.core.api.PollingStrategies")
+    public void unknownStrategyPropertyTest() {
+        DEFAULT_POLLING_STRATEGY.accept("unknown");
+        DEFAULT_POLLING_STRATEGY.get();
+        fail("The exception throwing was expected");
+    }
+
+    @Test
+    public void valuableResultIsReturnedWithoutSleepingTest() {
+        long start = currentTimeMillis();
+        assertThat(getSingle(toGet("Value as is", (String s) -> s), ofSeconds(5), ofSeconds(5)).apply("A"),
+                is("A"));
+        assertThat(currentTimeMillis() - start, lessThan(1000L));
+    }
+
+    @Test
+    public void definedStrategyIsUsedTest() {
+        DEFAULT_POLLING_STRATEGY.accept(CountingStrategy.class.getName());
+        AtomicInteger attempts = new AtomicInteger();
+        Function<String, String> function = getSingle(toGet("Value on the third attempt",
+                s -> attempts.incrementAndGet() >= 3 ? s : null), ofSeconds(5), ofSeconds(5));
+
+        long start = currentTimeMillis();
+        assertThat(function.apply("A"), is("A"));
+        assertThat(currentTimeMillis() - start, lessThan(1000L));
+        assertThat(CountingStrategy.COUNTER.get(), is(2));
+    }
+
+    public static class CountingStrategy implements PollingStrategy {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        @Override
+        public Duration nextSleeping(int attempt, Duration sleepingTime) {
+            COUNTER.incrementAndGet();
+            return ofMillis(1);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.toy.constructor.core.api.test.conditional;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.toy.constructor.core.api.AttemptCache.read;
+import static com.github.toy.constructor.core.api.AttemptCacheProperties.ATTEMPT_CACHE;
+import static com.github.toy.constructor.core.api.StoryWriter.condition;
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.ToGetSingleCheckedObject.getSingle;
+import static com.github.toy.constructor.core.api.ToGetSubIterable.getIterable;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AttemptCacheTest extends BaseConditionalTest {
+
+    @AfterMethod(alwaysRun = true)
+    public void afterEach() {
+        System.getProperties().remove(ATTEMPT_CACHE.getPropertyName());
+    }
+
+    private static class Element {
+        private final AtomicInteger reads = new AtomicInteger();
+        private final int number;
+
+        private Element(int number) {
+            this.number = number;
+        }
+
+        private int getNumber() {
+            reads.incrementAndGet();
+            return number;
+        }
+    }
+
+    private static Predicate<Element> numberCondition(String description, Predicate<Integer> predicate) {
+        return condition(description, element -> predicate.test(read(element, "number", element::getNumber)));
+    }
+
+    private static Predicate<Element> positiveEven() {
+        return numberCondition("Positive", number -> number > 0)
+                .and(numberCondition("Even", number -> number % 2 == 0))
+                .and(numberCondition("Less than 100", number -> number < 100));
+    }
+
+    private static List<Element> elements(int count) {
+        List<Element> elements = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            elements.add(new Element(i * 2));
+        }
+        return elements;
+    }
+
+    @Test
+    public void valuesAreNotCachedByDefaultTest() {
+        Element element = new Element(2);
+        assertThat(getSingle(toGet("Element", (Element e) -> e), positiveEven(), true,
+                () -> NOTHING_WAS_FOUND).apply(element), is(element));
+        assertThat(element.reads.get(), is(3));
+    }
+
+    @Test
+    public void valuesAreCachedDuringAttemptTest() {
+        ATTEMPT_CACHE.accept("true");
+        Element element = new Element(2);
+        assertThat(getSingle(toGet("Element", (Element e) -> e), positiveEven(), true,
+                () -> NOTHING_WAS_FOUND).apply(element), is(element));
+        assertThat(element.reads.get(), is(1));
+    }
+
+    @Test
+    public void cacheIsDiscardedBeforeNextAttemptTest() {
+        ATTEMPT_CACHE.accept("true");
+        AtomicInteger attempts = new AtomicInteger();
+        Function<Element, Element> function = getSingle(toGet("Element on the third attempt",
+                (Element e) -> attempts.incrementAndGet() >= 3 ? e : new Element(-1)),
+                positiveEven(), FIVE_SECONDS, ONE_MILLISECOND, true, () -> NOTHING_WAS_FOUND);
+        Element element = new Element(2);
+
+        assertThat(function.apply(element), is(element));
+        assertThat(attempts.get(), is(3));
+        assertThat(element.reads.get(), is(1));
+    }
+
+    @Test
+    public void valuesAreCachedForParallelChecksTest() {
+        ATTEMPT_CACHE.accept("true");
+        List<Element> elements = elements(20);
+        Function<List<Element>, List<Element>> suitable = getIterable(toGet("Elements", list -> list),
+                positiveEven(), true, true, () -> NOTHING_WAS_FOUND);
+
+        assertThat(suitable.apply(elements), hasSize(20));
+        elements.forEach(element -> assertThat(element.reads.get(), is(1)));
+    }
+
+    @Test
+    public void valuesAreNotCachedOutOfWaitingTest() {
+        ATTEMPT_CACHE.accept("true");
+        Element element = new Element(2);
+        positiveEven().test(element);
+        assertThat(element.reads.get(), is(3));
+    }
+}
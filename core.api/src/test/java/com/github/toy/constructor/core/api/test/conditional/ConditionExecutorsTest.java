@@ -0,0 +1,152 @@
+package com.github.toy.constructor.core.api.test.conditional;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.toy.constructor.core.api.ConditionExecutors.getEvaluationCount;
+import static com.github.toy.constructor.core.api.ConditionExecutors.getSpeedUp;
+import static com.github.toy.constructor.core.api.ConditionExecutors.resetStatistics;
+import static com.github.toy.constructor.core.api.ConditionExecutors.setExecutor;
+import static com.github.toy.constructor.core.api.Sessions.setResolver;
+import static com.github.toy.constructor.core.api.StepExecutorProperties.CONDITION_CHECK_PARALLELISM;
+import static com.github.toy.constructor.core.api.StoryWriter.condition;
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.ToGetObjectFromIterable.getFromIterable;
+import static com.github.toy.constructor.core.api.ToGetSingleCheckedObject.getSingle;
+import static com.github.toy.constructor.core.api.ToGetSubIterable.getIterable;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.fail;
+
+public class ConditionExecutorsTest extends BaseConditionalTest {
+
+    private static final Object SESSION = new Object();
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @AfterMethod(alwaysRun = true)
+    public void afterEach() {
+        System.getProperties().remove(CONDITION_CHECK_PARALLELISM.getPropertyName());
+        setExecutor(null);
+        setResolver(null);
+        resetStatistics();
+        running.set(0);
+        maxRunning.set(0);
+    }
+
+    private Predicate<Integer> slowEven() {
+        return condition("Even", integer -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            running.decrementAndGet();
+            return integer % 2 == 0;
+        });
+    }
+
+    private static List<Integer> numbers(int count) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            numbers.add(i);
+        }
+        return numbers;
+    }
+
+    @Test
+    public void limitedParallelCheckTest() {
+        CONDITION_CHECK_PARALLELISM.accept("3");
+        Function<List<Integer>, List<Integer>> evenNumbers = getIterable(toGet("Numbers", list -> list),
+                slowEven(), true, true, () -> NOTHING_WAS_FOUND);
+
+        assertThat(evenNumbers.apply(numbers(12)), contains(0, 2, 4, 6, 8, 10));
+        assertThat(maxRunning.get(), lessThanOrEqualTo(3));
+        assertThat(maxRunning.get(), greaterThan(1));
+        assertThat(getEvaluationCount(), is(1L));
+        assertThat(getSpeedUp(), greaterThan(1.5));
+    }
+
+    @Test
+    public void limitIsSharedByTheSameInputTest() {
+        CONDITION_CHECK_PARALLELISM.accept("2");
+        List<Integer> input = numbers(8);
+        Function<List<Integer>, List<Integer>> evenNumbers = getIterable(toGet("Numbers", list -> list),
+                slowEven(), true, true, () -> NOTHING_WAS_FOUND);
+
+        CompletableFuture<Void> first = runAsync(() -> evenNumbers.apply(input));
+        CompletableFuture<Void> second = runAsync(() -> evenNumbers.apply(input));
+        first.join();
+        second.join();
+        assertThat(maxRunning.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    public void limitIsSharedByTheSameSessionTest() {
+        CONDITION_CHECK_PARALLELISM.accept("2");
+        setResolver(o -> SESSION);
+        Function<List<Integer>, List<Integer>> evenNumbers = getIterable(toGet("Numbers", list -> list),
+                slowEven(), true, true, () -> NOTHING_WAS_FOUND);
+
+        CompletableFuture<Void> first = runAsync(() -> evenNumbers.apply(numbers(8)));
+        CompletableFuture<Void> second = runAsync(() -> evenNumbers.apply(numbers(8)));
+        first.join();
+        second.join();
+        assertThat(maxRunning.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    public void nestedWaitingDoesNotExceedOuterTimeTest() {
+        Function<Integer, Integer> nothing = getSingle(toGet("Nothing", integer -> null), FIVE_SECONDS,
+                ONE_MILLISECOND);
+        Function<List<Integer>, List<Integer>> found = getIterable(toGet("Numbers", list -> list),
+                condition("Found", (Integer integer) -> nothing.apply(integer) != null), FIVE_HUNDRED_MILLIS,
+                ONE_MILLISECOND, true, true);
+
+        long start = currentTimeMillis();
+        assertThat(found.apply(numbers(4)), empty());
+        assertThat(currentTimeMillis() - start, lessThan(FIVE_SECONDS.toMillis()));
+    }
+
+    @Test
+    public void firstSuitableElementTest() {
+        AtomicInteger executed = new AtomicInteger();
+        setExecutor(runnable -> {
+            executed.incrementAndGet();
+            new Thread(runnable).start();
+        });
+        Function<List<Integer>, Integer> firstEven = getFromIterable("The first even number greater than 5",
+                toGet("Numbers", list -> list), condition("Greater than 5", (Integer integer) -> integer > 5)
+                        .and(slowEven()), true, true, () -> NOTHING_WAS_FOUND);
+
+        assertThat(firstEven.apply(numbers(20)), is(6));
+        assertThat(executed.get(), greaterThan(0));
+    }
+
+    @Test
+    public void failedCheckTest() {
+        Function<List<Integer>, List<Integer>> failed = getIterable(toGet("Numbers", list -> list),
+                condition("Failed", (Integer integer) -> {
+                    throw new IllegalStateException("Test exception");
+                }), true, false, () -> NOTHING_WAS_FOUND);
+        try {
+            failed.apply(numbers(4));
+            fail("The exception throwing was expected");
+        }
+        catch (RuntimeException e) {
+            assertThat(e.getMessage(), is("java.lang.IllegalStateException was caught. Message: Test exception"));
+        }
+    }
+}
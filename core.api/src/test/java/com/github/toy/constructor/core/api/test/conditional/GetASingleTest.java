@@ -2,9 +2,14 @@ package com.github.toy.constructor.core.api.test.conditional;
 
 import org.testng.annotations.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
 import static com.github.toy.constructor.core.api.StoryWriter.condition;
 import static com.github.toy.constructor.core.api.StoryWriter.toGet;
 import static com.github.toy.constructor.core.api.ToGetSingleCheckedObject.getSingle;
+import static java.util.List.of;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.testng.Assert.fail;
@@ -718,4 +723,15 @@ public class GetASingleTest extends BaseConditionalTest {
         }
         fail("The exception throwing was expected");
     }
+
+    @Test
+    public void testOfApplyingOfFunctionWithSingleInputAndSingleOutputWithoutWaitingTime() {
+        AtomicInteger attempts = new AtomicInteger();
+        Function<List<String>, String> function = getSingle(toGet("The first object of the list",
+                list -> attempts.incrementAndGet() > 1 ? list.get(0) : null),
+                condition("Is A", VALUE_A), true, () -> NOTHING_WAS_FOUND);
+
+        assertThat(function.apply(of(A_UPPER)), is(A_UPPER));
+        assertThat(attempts.get(), is(2));
+    }
 }
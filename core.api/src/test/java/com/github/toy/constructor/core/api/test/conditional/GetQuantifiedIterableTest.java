@@ -0,0 +1,116 @@
+package com.github.toy.constructor.core.api.test.conditional;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.toy.constructor.core.api.StoryWriter.condition;
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.ToGetSubIterable.getAtLeast;
+import static com.github.toy.constructor.core.api.ToGetSubIterable.getExactly;
+import static com.github.toy.constructor.core.api.ToGetSubIterable.getFirst;
+import static java.lang.System.currentTimeMillis;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.fail;
+
+public class GetQuantifiedIterableTest extends BaseConditionalTest {
+
+    private final AtomicInteger checks = new AtomicInteger();
+
+    private Predicate<Integer> even() {
+        checks.set(0);
+        return condition("Even", integer -> {
+            checks.incrementAndGet();
+            return integer % 2 == 0;
+        });
+    }
+
+    private static List<Integer> numbers(int count) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            numbers.add(i);
+        }
+        return numbers;
+    }
+
+    private static Function<List<Integer>, List<Integer>> asIs() {
+        return toGet("Numbers", list -> list);
+    }
+
+    @Test
+    public void firstElementsTest() {
+        Function<List<Integer>, List<Integer>> firstEven = getFirst(asIs(), even(), 3, false, true,
+                () -> NOTHING_WAS_FOUND);
+
+        assertThat(firstEven.apply(numbers(1000)), contains(0, 2, 4));
+        assertThat(checks.get(), is(5));
+        assertThat(firstEven.apply(numbers(3)), contains(0, 2));
+        assertThat(firstEven.toString(), is("First 3 of Numbers with condition Even"));
+    }
+
+    @Test
+    public void firstElementsInParallelTest() {
+        Function<List<Integer>, List<Integer>> firstEven = getFirst(asIs(), even(), 3, true, true,
+                () -> NOTHING_WAS_FOUND);
+
+        assertThat(firstEven.apply(numbers(1000)), contains(0, 2, 4));
+        assertThat(checks.get(), lessThan(1000));
+    }
+
+    @Test
+    public void atLeastTest() {
+        Function<List<Integer>, List<Integer>> atLeastTwoEven = getAtLeast(asIs(), even(), 2, false, true,
+                () -> NOTHING_WAS_FOUND);
+
+        assertThat(atLeastTwoEven.apply(numbers(1000)), contains(0, 2));
+        assertThat(checks.get(), is(3));
+        try {
+            atLeastTwoEven.apply(numbers(2));
+            fail("The exception throwing was expected");
+        }
+        catch (RuntimeException e) {
+            assertThat(e, is(NOTHING_WAS_FOUND));
+        }
+    }
+
+    @Test
+    public void exactlyTest() {
+        Function<List<Integer>, List<Integer>> exactlyTwoEven = getExactly(asIs(), even(), 2, FIVE_HUNDRED_MILLIS,
+                ONE_MILLISECOND, true, true);
+
+        assertThat(exactlyTwoEven.apply(numbers(4)), contains(0, 2));
+        assertThat(checks.get(), is(4));
+
+        checks.set(0);
+        long start = currentTimeMillis();
+        assertThat(exactlyTwoEven.apply(numbers(1000)), nullValue());
+        assertThat(currentTimeMillis() - start, greaterThanOrEqualTo(FIVE_HUNDRED_MILLIS.toMillis()));
+        assertThat(exactlyTwoEven.toString(), is("Exactly 2 of Numbers with condition Even. " +
+                "Time to get valuable result: 0:00:00:500"));
+    }
+
+    @Test
+    public void waitingForCountTest() {
+        List<Integer> numbers = new ArrayList<>();
+        Function<List<Integer>, List<Integer>> atLeastThreeEven = getAtLeast(toGet("Growing numbers",
+                (List<Integer> list) -> {
+                    list.add(list.size());
+                    return list;
+                }), even(), 3, FIVE_SECONDS, ONE_MILLISECOND, false, true, () -> NOTHING_WAS_FOUND);
+
+        assertThat(atLeastThreeEven.apply(numbers), contains(0, 2, 4));
+        assertThat(numbers, hasSize(5));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "Count of elements should be greater than zero. 0 was defined")
+    public void invalidCountTest() {
+        getExactly(asIs(), even(), 0, false, true, () -> NOTHING_WAS_FOUND);
+        fail("The exception throwing was expected");
+    }
+}
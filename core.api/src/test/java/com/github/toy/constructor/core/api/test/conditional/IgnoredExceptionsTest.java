@@ -0,0 +1,122 @@
+package com.github.toy.constructor.core.api.test.conditional;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.toy.constructor.core.api.StoryWriter.condition;
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.ToGetSubIterable.getIterable;
+import static java.lang.String.format;
+import static org.apache.commons.lang3.StringUtils.countMatches;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.fail;
+
+public class IgnoredExceptionsTest extends BaseConditionalTest {
+
+    private static final Predicate<Integer> STALE = condition("Not stale", integer -> {
+        if (integer % 2 == 0) {
+            throw new IllegalStateException("Stale element");
+        }
+        throw new IllegalArgumentException("Detached element " + integer);
+    });
+
+    /**
+     * Summaries are logged by the SPI logger of tests which prints messages to the standard output.
+     */
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+
+    @BeforeMethod
+    public void beforeEach() {
+        originalOut = System.out;
+        originalErr = System.err;
+        System.setOut(new PrintStream(out, true));
+        System.setErr(new PrintStream(err, true));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterEach() {
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+        out.reset();
+        err.reset();
+    }
+
+    private static List<Integer> numbers(int count) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            numbers.add(i);
+        }
+        return numbers;
+    }
+
+    @Test
+    public void summaryIsAttachedToTimeOutExceptionTest() {
+        Function<List<Integer>, List<Integer>> notStale = getIterable(toGet("Numbers", list -> list),
+                STALE, FIVE_HUNDRED_MILLIS, ONE_MILLISECOND, false, true,
+                () -> new IllegalStateException("Nothing was found"));
+        try {
+            notStale.apply(numbers(100));
+            fail("The exception throwing was expected");
+        }
+        catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("Nothing was found"));
+            assertThat(e.getSuppressed().length, is(1));
+
+            Throwable summary = e.getSuppressed()[0];
+            assertThat(summary.getMessage(), containsString("exceptions were ignored on condition check of " +
+                    "'Numbers with condition Not stale'"));
+            assertThat(summary.getMessage(), containsString("times: java.lang.IllegalStateException: Stale element"));
+            assertThat(summary.getMessage(), containsString("times: Other exceptions"));
+            assertThat(countMatches(summary.getMessage(), "Detached element"), lessThanOrEqualTo(19));
+            assertThat(summary.getSuppressed().length, is(2));
+        }
+
+        String printed = out.toString();
+        assertThat(printed, startsWith("SPI:"));
+        assertThat(countMatches(printed, "exceptions were ignored"), is(1));
+        assertThat(printed, not(containsString("\tat ")));
+        assertThat(err.toString(), is(""));
+    }
+
+    @Test
+    public void exceptionsOfParallelChecksAreCountedTest() {
+        AtomicInteger attempts = new AtomicInteger();
+        Function<List<Integer>, List<Integer>> notStale = getIterable(toGet("Numbers", list -> {
+            attempts.incrementAndGet();
+            return list;
+        }), STALE, true, true);
+
+        assertThat(notStale.apply(numbers(10)), empty());
+        String printed = out.toString();
+        assertThat(err.toString(), is(""));
+        assertThat(printed, startsWith(format("SPI:%s exceptions were ignored on condition check of " +
+                "'Numbers with condition Not stale'", attempts.get() * 10)));
+        assertThat(printed, containsString(format("%s times: java.lang.IllegalStateException: Stale element",
+                attempts.get() * 5)));
+        assertThat(printed, containsString(format("%s times: java.lang.IllegalArgumentException: " +
+                "Detached element 9", attempts.get())));
+    }
+
+    @Test
+    public void nothingIsReportedWithoutIgnoredExceptionsTest() {
+        Function<List<Integer>, List<Integer>> numbers = getIterable(toGet("Numbers", list -> list),
+                condition("Any", integer -> true), false, true);
+
+        assertThat(numbers.apply(numbers(10)), hasSize(10));
+        assertThat(out.toString(), is(""));
+        assertThat(err.toString(), is(""));
+    }
+}
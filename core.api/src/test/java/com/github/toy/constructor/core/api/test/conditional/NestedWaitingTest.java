@@ -0,0 +1,45 @@
+package com.github.toy.constructor.core.api.test.conditional;
+
+import org.testng.annotations.Test;
+
+import java.util.function.Function;
+
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.ToGetSingleCheckedObject.getSingle;
+import static java.lang.System.currentTimeMillis;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.testng.Assert.fail;
+
+public class NestedWaitingTest extends BaseConditionalTest {
+
+    @Test
+    public void nestedWaitingDoesNotExceedOuterTimeTest() {
+        Function<String, String> nothing = getSingle(toGet("Nothing", s -> null), FIVE_SECONDS, ONE_MILLISECOND);
+        Function<String, String> nested = getSingle(toGet("Nested nothing", nothing::apply),
+                FIVE_HUNDRED_MILLIS, () -> NOTHING_WAS_FOUND);
+
+        long start = currentTimeMillis();
+        try {
+            nested.apply(A_UPPER);
+            fail("The exception throwing was expected");
+        }
+        catch (RuntimeException e) {
+            assertThat(e, is(NOTHING_WAS_FOUND));
+        }
+        assertThat(currentTimeMillis() - start, lessThan(FIVE_SECONDS.toMillis()));
+    }
+
+    @Test
+    public void nestedWaitingWithinNotWaitingFunctionTest() {
+        long start = currentTimeMillis();
+        Function<String, String> delayed = getSingle(toGet("Delayed value",
+                s -> currentTimeMillis() - start > FIVE_HUNDRED_MILLIS.toMillis() * 2 ? s : null),
+                FIVE_SECONDS, ONE_MILLISECOND);
+        Function<String, String> nested = getSingle(toGet("Nested delayed value", delayed::apply),
+                () -> NOTHING_WAS_FOUND);
+
+        assertThat(nested.apply(A_UPPER), is(A_UPPER));
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.toy.constructor.core.api.test.conditional;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.toy.constructor.core.api.StoryWriter.condition;
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.ToGetSubArray.getArray;
+import static com.github.toy.constructor.core.api.ToGetSubIterable.getIterable;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSortedSet;
+import static java.util.Comparator.reverseOrder;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Checks the selection of elements from big inputs. Each element is checked once per attempt.
+ */
+public class SubFilteringTest extends BaseConditionalTest {
+
+    private static final int SIZE = 10_000;
+
+    private final AtomicInteger checks = new AtomicInteger();
+
+    private Predicate<Integer> even() {
+        checks.set(0);
+        return condition("Even", integer -> {
+            checks.incrementAndGet();
+            return integer % 2 == 0;
+        });
+    }
+
+    private static List<Integer> input() {
+        List<Integer> input = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            input.add(i);
+        }
+        return input;
+    }
+
+    @Test
+    public void subIterableTest() {
+        List<Integer> input = input();
+        Function<List<Integer>, List<Integer>> evenNumbers = getIterable(toGet("Numbers", list -> list),
+                even(), false, true, () -> NOTHING_WAS_FOUND);
+
+        List<Integer> result = evenNumbers.apply(input);
+        assertThat(result, hasSize(SIZE / 2));
+        assertThat(result.get(1), is(2));
+        assertThat(checks.get(), is(SIZE));
+        assertThat("The input should not be changed", input, hasSize(SIZE));
+        assertThat(input.get(1), is(1));
+    }
+
+    @Test
+    public void subIterableOfLinkedListTest() {
+        List<Integer> input = new LinkedList<>(input());
+        Function<List<Integer>, List<Integer>> evenNumbers = getIterable(toGet("Numbers", list -> list),
+                even(), false, true, () -> NOTHING_WAS_FOUND);
+
+        List<Integer> result = evenNumbers.apply(input);
+        assertThat(result, instanceOf(LinkedList.class));
+        assertThat(result, hasSize(SIZE / 2));
+        assertThat("The input should not be changed", input, hasSize(SIZE));
+    }
+
+    @Test
+    public void subIterableOfSortedSetTest() {
+        Set<Integer> input = new TreeSet<>(reverseOrder());
+        input.addAll(asList(1, 2, 3, 4, 5, 6));
+        Function<Set<Integer>, Set<Integer>> evenNumbers = getIterable(toGet("Numbers", set -> set),
+                even(), false, true, () -> NOTHING_WAS_FOUND);
+
+        assertThat(evenNumbers.apply(input), contains(6, 4, 2));
+        assertThat("The input should not be changed", input, contains(6, 5, 4, 3, 2, 1));
+    }
+
+    @Test
+    public void subIterableOfImmutableListTest() {
+        List<Integer> input = List.of(1, 2, 3, 4, 5, 6);
+        Function<List<Integer>, List<Integer>> evenNumbers = getIterable(toGet("Numbers", list -> list),
+                even(), false, true, () -> NOTHING_WAS_FOUND);
+
+        assertThat(evenNumbers.apply(input), contains(2, 4, 6));
+        assertThat(evenNumbers.apply(unmodifiableList(asList(1, 2, 3))), contains(2));
+        assertThat(input, contains(1, 2, 3, 4, 5, 6));
+    }
+
+    @Test
+    public void subIterableOfImmutableSetTest() {
+        Set<Integer> input = unmodifiableSortedSet(new TreeSet<>(asList(1, 2, 3, 4, 5, 6)));
+        Function<Set<Integer>, Set<Integer>> evenNumbers = getIterable(toGet("Numbers", set -> set),
+                even(), false, true, () -> NOTHING_WAS_FOUND);
+
+        assertThat(evenNumbers.apply(input), contains(2, 4, 6));
+        assertThat(input, hasSize(6));
+    }
+
+    @Test
+    public void allElementsAreSelectedTest() {
+        List<Integer> input = asList(2, 4, 6);
+        Function<List<Integer>, List<Integer>> evenNumbers = getIterable(toGet("Numbers", list -> list),
+                even(), true, true, () -> NOTHING_WAS_FOUND);
+
+        assertThat(evenNumbers.apply(input), sameInstance(input));
+    }
+
+    @Test
+    public void sameElementsTest() {
+        Integer big = 1000;
+        List<Integer> input = new ArrayList<>(asList(big, 1, big, 3, big));
+        Function<List<Integer>, List<Integer>> evenNumbers = getIterable(toGet("Numbers", list -> list),
+                even(), false, true, () -> NOTHING_WAS_FOUND);
+
+        assertThat(evenNumbers.apply(input), contains(big, big, big));
+    }
+
+    @Test
+    public void subArrayTest() {
+        Integer[] input = input().toArray(new Integer[0]);
+        Function<Integer[], Integer[]> evenNumbers = getArray(toGet("Numbers", array -> array),
+                even(), false, true, () -> NOTHING_WAS_FOUND);
+
+        Integer[] result = evenNumbers.apply(input);
+        assertThat(result.length, is(SIZE / 2));
+        assertThat(result[1], is(2));
+        assertThat(checks.get(), is(SIZE));
+        assertThat("The input should not be changed", input[1], is(1));
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.toy.constructor.core.api.test.conditional;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import static com.github.toy.constructor.core.api.StepExecutorProperties.WAITING_ENGINE_THREADS;
+import static com.github.toy.constructor.core.api.StoryWriter.condition;
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.ToGetObjectFromIterable.getFromIterable;
+import static com.github.toy.constructor.core.api.ToGetSingleCheckedObject.getSingle;
+import static com.github.toy.constructor.core.api.WaitingEngine.applyAsync;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.fail;
+
+public class WaitingEngineTest extends BaseConditionalTest {
+
+    private static final int WAITING_COUNT = 200;
+
+    @Test
+    public void concurrentWaitingsTest() throws Exception {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        long start = currentTimeMillis();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < WAITING_COUNT; i++) {
+            String expected = String.valueOf(i);
+            Function<String, String> delayed = getSingle(toGet("Delayed value", s -> {
+                threads.add(Thread.currentThread());
+                return currentTimeMillis() - start > FIVE_HUNDRED_MILLIS.toMillis() ? s : null;
+            }), FIVE_SECONDS, ONE_MILLISECOND);
+            futures.add(applyAsync(delayed, expected));
+        }
+
+        for (int i = 0; i < WAITING_COUNT; i++) {
+            assertThat(futures.get(i).get(10, SECONDS), is(String.valueOf(i)));
+        }
+        assertThat(threads.size(), lessThanOrEqualTo(WAITING_ENGINE_THREADS.get()));
+    }
+
+    @Test
+    public void waitingFromIterableTest() throws Exception {
+        Function<List<String>, String> fromIterable = getFromIterable("Upper A",
+                toGet("List as is", (List<String> list) -> list), condition("equals A", A_UPPER::equals),
+                FIVE_SECONDS, false, false);
+
+        assertThat(applyAsync(fromIterable, LITERAL_LIST).get(10, SECONDS), is(A_UPPER));
+    }
+
+    @Test
+    public void timeOutTest() throws Exception {
+        long start = currentTimeMillis();
+        CompletableFuture<String> nothing = applyAsync(getSingle(toGet("Nothing", s -> null),
+                FIVE_HUNDRED_MILLIS, ONE_MILLISECOND), A_UPPER);
+        assertThat(nothing.get(10, SECONDS), nullValue());
+        assertThat(currentTimeMillis() - start, greaterThanOrEqualTo(FIVE_HUNDRED_MILLIS.toMillis()));
+
+        CompletableFuture<String> failed = applyAsync(getSingle(toGet("Nothing", s -> null),
+                FIVE_HUNDRED_MILLIS, () -> NOTHING_WAS_FOUND), A_UPPER);
+        try {
+            failed.get(10, SECONDS);
+            fail("The exception throwing was expected");
+        }
+        catch (ExecutionException e) {
+            assertThat(e.getCause(), is(NOTHING_WAS_FOUND));
+        }
+    }
+
+    @Test
+    public void notWaitingFunctionTest() throws Exception {
+        assertThat(applyAsync(toGet("Lower case", String::toLowerCase), A_UPPER).get(10, SECONDS),
+                is(A_LOWER));
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.toy.constructor.core.api.test.conditional;
+
+import com.github.toy.constructor.core.api.WaitingStatistics;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.ToGetSingleCheckedObject.getSingle;
+import static com.github.toy.constructor.core.api.WaitingMetrics.getAdjustments;
+import static com.github.toy.constructor.core.api.WaitingMetrics.getStatistics;
+import static com.github.toy.constructor.core.api.WaitingMetrics.save;
+import static com.github.toy.constructor.core.api.WaitingMetrics.setFile;
+import static com.github.toy.constructor.core.api.WaitingStatisticsProperties.AdaptiveWaitingProperties.ADAPTIVE_WAITING_FACTOR;
+import static java.lang.System.currentTimeMillis;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.fail;
+
+public class WaitingMetricsTest extends BaseConditionalTest {
+
+    @AfterMethod(alwaysRun = true)
+    public void afterEach() {
+        setFile(null);
+        System.getProperties().remove(ADAPTIVE_WAITING_FACTOR.getPropertyName());
+    }
+
+    @Test
+    public void recordedStatisticsAreKeptBetweenRunsTest() throws Exception {
+        Path file = Files.createTempDirectory("waiting").resolve("statistics.properties");
+        setFile(file);
+
+        AtomicInteger attempts = new AtomicInteger();
+        assertThat(getSingle(toGet("Value on the third attempt", s -> attempts.incrementAndGet() >= 3 ? s : null),
+                FIVE_SECONDS, ONE_MILLISECOND).apply(A_UPPER), is(A_UPPER));
+        assertThat(getSingle(toGet("Nothing", s -> null), ONE_MILLISECOND, ONE_MILLISECOND).apply(A_UPPER),
+                nullValue());
+        assertThat(getSingle(toGet("Value without waiting", s -> s), () -> NOTHING_WAS_FOUND).apply(A_UPPER),
+                is(A_UPPER));
+
+        List<WaitingStatistics> statistics = getStatistics();
+        assertThat(statistics, hasSize(2));
+        assertThat(statistics.get(0).getDescription(), is("Nothing"));
+        assertThat(statistics.get(0).getTimeOuts(), is(1L));
+        assertThat(statistics.get(0).getTimeOutRate(), is(1D));
+        assertThat(statistics.get(1).getDescription(), is("Value on the third attempt"));
+        assertThat(statistics.get(1).getAttempts(), is(3L));
+        assertThat(statistics.get(1).getSuccesses(), is(1L));
+        assertThat(statistics.get(1).getTimeOutRate(), is(0D));
+
+        save();
+        setFile(null);
+        assertThat(getStatistics(), empty());
+
+        setFile(file);
+        assertThat(getStatistics().toString(), is(statistics.toString()));
+    }
+
+    @Test
+    public void timeOutOfTruncatedWaitingIsNotRecordedTest() throws Exception {
+        setFile(Files.createTempDirectory("waiting").resolve("statistics.properties"));
+        Function<String, String> nothing = getSingle(toGet("Nothing", s -> null), FIVE_SECONDS, ONE_MILLISECOND);
+        Function<String, String> nested = getSingle(toGet("Nested nothing", nothing::apply),
+                FIVE_HUNDRED_MILLIS, ONE_MILLISECOND);
+
+        assertThat(nested.apply(A_UPPER), nullValue());
+        List<WaitingStatistics> statistics = getStatistics();
+        assertThat(statistics, hasSize(1));
+        assertThat(statistics.get(0).getDescription(), is("Nested nothing"));
+        assertThat(statistics.get(0).getTimeOuts(), is(1L));
+    }
+
+    @Test
+    public void adaptiveWaitingTimeTest() throws Exception {
+        setFile(Files.createTempDirectory("waiting").resolve("statistics.properties"));
+        ADAPTIVE_WAITING_FACTOR.accept("2");
+
+        Function<String, String> quick = getSingle(toGet("Value", s -> s), FIVE_SECONDS, ONE_MILLISECOND);
+        for (int i = 0; i < 20; i++) {
+            assertThat(quick.apply(A_UPPER), is(A_UPPER));
+        }
+        assertThat(getAdjustments(), empty());
+
+        Function<String, String> regressed = getSingle(toGet("Value", s -> null), FIVE_SECONDS, ONE_MILLISECOND,
+                () -> NOTHING_WAS_FOUND);
+        long start = currentTimeMillis();
+        try {
+            regressed.apply(A_UPPER);
+            fail("The exception throwing was expected");
+        }
+        catch (RuntimeException e) {
+            assertThat(e, is(NOTHING_WAS_FOUND));
+        }
+        assertThat(currentTimeMillis() - start, lessThan(FIVE_SECONDS.toMillis()));
+        assertThat(getAdjustments(), contains(startsWith("Waiting time of 'Value' is adjusted to 0:00:01:000. " +
+                "The defined time is 0:00:05:000.")));
+    }
+}
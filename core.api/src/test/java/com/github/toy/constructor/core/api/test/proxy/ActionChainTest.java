@@ -0,0 +1,69 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.github.toy.constructor.core.api.StoryWriter.action;
+import static com.github.toy.constructor.core.api.proxy.ConstructorParameters.params;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class ActionChainTest {
+
+    private static final int RUN_COUNT = 40;
+    private static final AtomicInteger FIRST = new AtomicInteger();
+    private static final AtomicInteger SECOND = new AtomicInteger();
+    private static final AtomicInteger THIRD = new AtomicInteger();
+
+    private static final Consumer<CalculatorSteps> CHAIN = action("First action",
+            (Consumer<CalculatorSteps>) calculatorSteps -> FIRST.incrementAndGet())
+            .andThen(action("Second action", calculatorSteps -> SECOND.incrementAndGet()))
+            .andThen(action("Third action", calculatorSteps -> THIRD.incrementAndGet()));
+
+    @Test
+    public void chainIsReusedTest() throws Exception {
+        DefaultListLogger logger = new DefaultListLogger();
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params(), List.of(logger));
+
+        calculator.perform(CHAIN);
+        calculator.perform(CHAIN);
+
+        String[] expected = new String[] {
+                "Perform: Third action",
+                "Perform: First action",
+                "Perform: and then Second action",
+                "Perform: and then Third action"};
+        String[] twice = new String[expected.length * 2];
+        System.arraycopy(expected, 0, twice, 0, expected.length);
+        System.arraycopy(expected, 0, twice, expected.length, expected.length);
+        assertThat(logger.messages, contains(twice));
+    }
+
+    @DataProvider(parallel = true)
+    public Object[][] runs() {
+        Object[][] runs = new Object[RUN_COUNT][];
+        for (int i = 0; i < RUN_COUNT; i++) {
+            runs[i] = new Object[] {i};
+        }
+        return runs;
+    }
+
+    @Test(dataProvider = "runs", dependsOnMethods = "chainIsReusedTest")
+    public void concurrentPerformingTest(int run) throws Exception {
+        getSubstituted(CalculatorSteps.class, params()).perform(CHAIN);
+    }
+
+    @Test(dependsOnMethods = "concurrentPerformingTest")
+    public void allActionsArePerformedTest() {
+        int expected = RUN_COUNT + 2;
+        assertThat(FIRST.get(), is(expected));
+        assertThat(SECOND.get(), is(expected));
+        assertThat(THIRD.get(), is(expected));
+    }
+}
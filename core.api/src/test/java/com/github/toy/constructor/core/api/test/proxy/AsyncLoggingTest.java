@@ -0,0 +1,210 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import com.github.toy.constructor.core.api.PerformStep;
+import com.github.toy.constructor.core.api.Stoppable;
+import com.github.toy.constructor.core.api.proxy.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.toy.constructor.core.api.StoryWriter.action;
+import static com.github.toy.constructor.core.api.proxy.AsyncLoggingProperties.ASYNC_LOGGING_BUFFER_SIZE;
+import static com.github.toy.constructor.core.api.proxy.AsyncLoggingProperties.ASYNC_LOGGING_SAMPLING_RATE;
+import static com.github.toy.constructor.core.api.proxy.AsyncLoggingProperties.BackPressureProperties.ASYNC_LOGGING_BACK_PRESSURE;
+import static com.github.toy.constructor.core.api.proxy.ConstructorParameters.params;
+import static com.github.toy.constructor.core.api.proxy.LoggerRegistry.getFailedDeliveries;
+import static com.github.toy.constructor.core.api.proxy.LoggerRegistry.reload;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static com.github.toy.constructor.core.api.proxy.SubstitutionFlagProperties.ASYNC_LOGGING;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class AsyncLoggingTest {
+
+    private static final int MESSAGE_COUNT = 40;
+
+    @BeforeMethod
+    public void beforeEach() {
+        ASYNC_LOGGING.accept("true");
+        ASYNC_LOGGING_BUFFER_SIZE.accept("2");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterEach() {
+        System.getProperties().remove(ASYNC_LOGGING.getPropertyName());
+        System.getProperties().remove(ASYNC_LOGGING_BUFFER_SIZE.getPropertyName());
+        System.getProperties().remove(ASYNC_LOGGING_BACK_PRESSURE.getPropertyName());
+        System.getProperties().remove(ASYNC_LOGGING_SAMPLING_RATE.getPropertyName());
+    }
+
+    private static List<String> performAndShutDown(SlowLogger logger) throws Exception {
+        StoppableStep step = getSubstituted(StoppableStep.class, params(), List.of(logger));
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            step.perform(action(format("Action %s", i), stoppableStep -> {}));
+        }
+        logger.release();
+        step.shutDown();
+        return logger.getMessages();
+    }
+
+    @Test
+    public void blockingTest() throws Exception {
+        ASYNC_LOGGING_BACK_PRESSURE.accept("block");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            expected.add(format("Perform: Action %s", i));
+        }
+
+        List<String> messages = performAndShutDown(new SlowLogger(new CountDownLatch(0)));
+        assertThat(messages, contains(expected.toArray()));
+    }
+
+    @Test
+    public void droppingTest() throws Exception {
+        ASYNC_LOGGING_BACK_PRESSURE.accept("drop");
+
+        List<String> messages = performAndShutDown(new SlowLogger(new CountDownLatch(1)));
+        assertThat(messages, hasSize(lessThan(MESSAGE_COUNT)));
+        assertThat(messages, hasSize(greaterThan(0)));
+    }
+
+    @Test
+    public void samplingTest() throws Exception {
+        ASYNC_LOGGING_BACK_PRESSURE.accept("sample");
+        ASYNC_LOGGING_SAMPLING_RATE.accept("4");
+
+        List<String> messages = performAndShutDown(new SlowLogger(new CountDownLatch(0)));
+        assertThat(messages, hasSize(lessThan(MESSAGE_COUNT)));
+        assertThat(messages, hasSize(greaterThan(MESSAGE_COUNT / 4)));
+    }
+
+    private static long countDeliveringThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("async-logger-"))
+                .count();
+    }
+
+    @Test
+    public void sharedDeliveringThreadTest() throws Exception {
+        List<DefaultListLogger> loggers = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            DefaultListLogger logger = new DefaultListLogger();
+            loggers.add(logger);
+            StoppableStep step = getSubstituted(StoppableStep.class, params(), List.of(logger));
+            step.perform(action(format("Action %s", i), stoppableStep -> {}));
+            assertThat(countDeliveringThreads(), lessThanOrEqualTo(1L));
+        }
+
+        reload();
+        for (int i = 0; i < 300; i++) {
+            assertThat(loggers.get(i).messages, contains(format("Perform: Action %s", i)));
+        }
+
+        long start = currentTimeMillis();
+        while (countDeliveringThreads() > 0 && currentTimeMillis() - start < 5000) {
+            Thread.sleep(100);
+        }
+        assertThat(countDeliveringThreads(), is(0L));
+    }
+
+    @Test
+    public void failedDeliveryTest() throws Exception {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream previous = System.err;
+        long failedBefore = getFailedDeliveries();
+        System.setErr(new PrintStream(err, true));
+        try {
+            StoppableStep step = getSubstituted(StoppableStep.class, params(), List.of(new Logger() {
+                @Override
+                public void log(String message) {
+                    throw new IllegalStateException(message);
+                }
+            }));
+            for (int i = 0; i < 3; i++) {
+                step.perform(action(format("Action %s", i), stoppableStep -> {}));
+            }
+            step.shutDown();
+        }
+        finally {
+            System.setErr(previous);
+        }
+
+        assertThat(getFailedDeliveries() - failedBefore, is(3L));
+        assertThat(err.toString(), is(""));
+    }
+
+    @Test
+    public void messageDescribesArgumentsOfInvocationTest() throws Exception {
+        AtomicReference<String> description = new AtomicReference<>("Initial description");
+        SlowLogger logger = new SlowLogger(new CountDownLatch(1));
+        StoppableStep step = getSubstituted(StoppableStep.class, params(), List.of(logger));
+        //the delivering thread waits for the release of the logger while the next message is in the buffer
+        step.perform(action("Blocking action", stoppableStep -> {}));
+        step.perform(action(description::get, stoppableStep -> {}));
+
+        description.set("Changed description");
+        logger.release();
+        step.shutDown();
+        assertThat(logger.getMessages(), contains("Perform: Blocking action", "Perform: Initial description"));
+    }
+
+    private static class SlowLogger implements Logger {
+
+        private final List<String> messages = new ArrayList<>();
+        private final CountDownLatch latch;
+
+        private SlowLogger(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void log(String message) {
+            try {
+                latch.await(10, SECONDS);
+                Thread.sleep(5);
+            }
+            catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            synchronized (messages) {
+                messages.add(message);
+            }
+        }
+
+        private void release() {
+            latch.countDown();
+        }
+
+        private List<String> getMessages() {
+            synchronized (messages) {
+                return new ArrayList<>(messages);
+            }
+        }
+    }
+
+    public static class StoppableStep implements PerformStep<StoppableStep>, Stoppable {
+
+        public StoppableStep() {
+            super();
+        }
+
+        @Override
+        public void shutDown() {
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import com.github.toy.constructor.core.api.proxy.Logger;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import static com.github.toy.constructor.core.api.StoryWriter.action;
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.proxy.ConstructorParameters.params;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.testng.Assert.fail;
+
+public class AsyncStepTest {
+
+    @Test
+    public void orderOfAsyncStepsTest() throws Exception {
+        SynchronizedLogger logger = new SynchronizedLogger();
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params(), List.of(logger));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        CompletableFuture<Void> waiting = calculator.performAsync(action("Wait for the latch", calculatorSteps -> {
+            started.countDown();
+            try {
+                latch.await(10, SECONDS);
+            }
+            catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }));
+        CompletableFuture<Integer> value = calculator.getAsync(toGet("Value after waiting",
+                calculatorSteps -> 5));
+
+        assertThat(started.await(10, SECONDS), is(true));
+        calculator.perform(action("Something in the current thread", calculatorSteps -> {}));
+        assertThat(waiting.isDone(), is(false));
+        assertThat(value.isDone(), is(false));
+
+        latch.countDown();
+        assertThat(value.get(10, SECONDS), is(5));
+        assertThat(logger.getMessages(), contains("Perform: Wait for the latch",
+                "Perform: Something in the current thread",
+                "Get: Value after waiting",
+                "Returned value: 5"));
+    }
+
+    @Test
+    public void failedAsyncStepTest() throws Exception {
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params());
+        CompletableFuture<Object> failed = calculator.getAsync(toGet("Failed value", calculatorSteps -> {
+            throw new IllegalStateException("Test exception");
+        }));
+
+        try {
+            failed.get(10, SECONDS);
+            fail("The exception throwing was expected");
+        }
+        catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+            assertThat(e.getCause().getMessage(), is("Test exception"));
+        }
+
+        assertThat(calculator.getAsync(toGet("Value after the failure", calculatorSteps -> 1))
+                .get(10, SECONDS), is(1));
+    }
+
+    @Test
+    public void nestedAsyncStepTest() throws Exception {
+        SynchronizedLogger logger = new SynchronizedLogger();
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params(), List.of(logger));
+        CompletableFuture<Integer> value = calculator.getAsync(toGet("Sum of nested values",
+                calculatorSteps -> calculatorSteps.getAsync(toGet("Nested value", steps -> 2)).join()
+                        + calculatorSteps.getAsync(toGet("Another nested value", steps -> 3)).join()));
+
+        assertThat(value.get(10, SECONDS), is(5));
+        assertThat(logger.getMessages(), contains("Get: Sum of nested values",
+                "Get: Nested value",
+                "Returned value: 2",
+                "Get: Another nested value",
+                "Returned value: 3",
+                "Returned value: 5"));
+    }
+
+    private static class SynchronizedLogger implements Logger {
+        private final List<String> messages = new ArrayList<>();
+
+        @Override
+        public synchronized void log(String message) {
+            messages.add(message);
+        }
+
+        private synchronized List<String> getMessages() {
+            return new ArrayList<>(messages);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import com.github.toy.constructor.core.api.proxy.Logger;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.github.toy.constructor.core.api.Sessions.setResolver;
+import static com.github.toy.constructor.core.api.StepExecutorProperties.GET_ALL_PARALLELISM;
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.ToGetSingleCheckedObject.getSingle;
+import static com.github.toy.constructor.core.api.proxy.ConstructorParameters.params;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.testng.Assert.fail;
+
+public class GetAllTest {
+
+    private static final Object SESSION = new Object();
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @AfterMethod(alwaysRun = true)
+    public void afterEach() {
+        System.getProperties().remove(GET_ALL_PARALLELISM.getPropertyName());
+        setResolver(null);
+        running.set(0);
+        maxRunning.set(0);
+    }
+
+    private Function<CalculatorSteps, Integer> slowValue(int value) {
+        return toGet(format("Value %s", value), calculatorSteps -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            running.decrementAndGet();
+            return value;
+        });
+    }
+
+    @Test
+    public void orderOfValuesTest() throws Exception {
+        GET_ALL_PARALLELISM.accept("2");
+        SynchronizedLogger logger = new SynchronizedLogger();
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params(), List.of(logger));
+
+        List<Object> values = calculator.getAll(List.of(slowValue(1), slowValue(2), slowValue(3),
+                slowValue(4), slowValue(5), slowValue(6)));
+
+        assertThat(values, contains(1, 2, 3, 4, 5, 6));
+        assertThat(maxRunning.get(), lessThanOrEqualTo(2));
+        assertThat(maxRunning.get(), greaterThan(1));
+        assertThat(logger.getMessages(), containsInAnyOrder("Get: Value 1", "Returned value: 1",
+                "Get: Value 2", "Returned value: 2",
+                "Get: Value 3", "Returned value: 3",
+                "Get: Value 4", "Returned value: 4",
+                "Get: Value 5", "Returned value: 5",
+                "Get: Value 6", "Returned value: 6"));
+    }
+
+    @Test
+    public void limitIsSharedByTheSameSessionTest() throws Exception {
+        GET_ALL_PARALLELISM.accept("2");
+        setResolver(o -> o instanceof CalculatorSteps ? SESSION : o);
+        CalculatorSteps first = getSubstituted(CalculatorSteps.class, params());
+        CalculatorSteps second = getSubstituted(CalculatorSteps.class, params());
+
+        CompletableFuture<List<Object>> firstValues = supplyAsync(() -> first.getAll(List.of(slowValue(1),
+                slowValue(2), slowValue(3), slowValue(4))));
+        CompletableFuture<List<Object>> secondValues = supplyAsync(() -> second.getAll(List.of(slowValue(5),
+                slowValue(6), slowValue(7), slowValue(8))));
+
+        assertThat(firstValues.get(10, SECONDS), contains(1, 2, 3, 4));
+        assertThat(secondValues.get(10, SECONDS), contains(5, 6, 7, 8));
+        assertThat(maxRunning.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    public void typedValuesTest() throws Exception {
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params());
+
+        Pair<Integer, String> pair = calculator.getAll(slowValue(1),
+                toGet("String value", calculatorSteps -> "String"));
+        assertThat(pair, is(Pair.of(1, "String")));
+
+        Triple<Integer, Integer, Integer> triple = calculator.getAll(slowValue(1), slowValue(2), slowValue(3));
+        assertThat(triple, is(Triple.of(1, 2, 3)));
+    }
+
+    @Test
+    public void failedValueTest() throws Exception {
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params());
+        try {
+            calculator.getAll(slowValue(1), toGet("Failed value", calculatorSteps -> {
+                throw new IllegalStateException("Test exception");
+            }));
+            fail("The exception throwing was expected");
+        }
+        catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("Test exception"));
+        }
+    }
+
+    @Test
+    public void nestedValuesTest() throws Exception {
+        GET_ALL_PARALLELISM.accept("1");
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params());
+
+        Pair<Integer, Integer> pair = calculator.getAll(toGet("Nested values", calculatorSteps ->
+                        calculatorSteps.getAll(slowValue(1), slowValue(2)).getLeft()),
+                slowValue(3));
+        assertThat(pair, is(Pair.of(1, 3)));
+    }
+
+    @Test
+    public void nestedWaitingDoesNotExceedOuterTimeTest() throws Exception {
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params());
+        Function<CalculatorSteps, Object> nothing = getSingle(toGet("Nothing", calculatorSteps -> null),
+                ofSeconds(5), ofMillis(1));
+        Function<CalculatorSteps, Object> all = getSingle(toGet("All nothing", calculatorSteps ->
+                calculatorSteps.getAll(nothing, nothing).getLeft()), ofMillis(500), ofMillis(1));
+
+        long start = currentTimeMillis();
+        assertThat(calculator.get(all), nullValue());
+        assertThat(currentTimeMillis() - start, lessThan(ofSeconds(5).toMillis()));
+    }
+
+    private static class SynchronizedLogger implements Logger {
+        private final List<String> messages = new ArrayList<>();
+
+        @Override
+        public synchronized void log(String message) {
+            messages.add(message);
+        }
+
+        private synchronized List<String> getMessages() {
+            return new ArrayList<>(messages);
+        }
+    }
+}
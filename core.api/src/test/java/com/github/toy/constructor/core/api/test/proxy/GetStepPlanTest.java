@@ -0,0 +1,70 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.proxy.ConstructorParameters.params;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class GetStepPlanTest {
+
+    private static final Function<CalculatorSteps, Integer> CHAIN = toGet("First value",
+            (Function<CalculatorSteps, Integer>) calculatorSteps -> 1)
+            .andThen(toGet("Counted value", Counted::new))
+            .andThen(toGet("Second value", counted -> counted.value + 1))
+            .andThen(toGet("Third value", value -> value * 3));
+
+    @Test
+    public void planIsReusedTest() throws Exception {
+        DefaultListLogger logger = new DefaultListLogger();
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params(), List.of(logger));
+
+        assertThat(calculator.get(CHAIN), is(6));
+        assertThat(calculator.get(CHAIN), is(6));
+
+        String[] expected = new String[] {
+                "Get: Third value",
+                "Get: First value",
+                "Returned value: 1",
+                "Get: from 1 get Counted value",
+                "Returned value: Counted 1",
+                "Get: from Counted 1 get Second value",
+                "Returned value: 2",
+                "Get: from 2 get Third value",
+                "Returned value: 6"};
+        String[] twice = new String[expected.length * 2];
+        System.arraycopy(expected, 0, twice, 0, expected.length);
+        System.arraycopy(expected, 0, twice, expected.length, expected.length);
+        assertThat(logger.messages, contains(twice));
+    }
+
+    @Test
+    public void nullIsPassedThroughTest() throws Exception {
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params());
+        Function<CalculatorSteps, Integer> chain = toGet("Nothing", (Function<CalculatorSteps, Integer>)
+                calculatorSteps -> null)
+                .andThen(toGet("Never applied", value -> value * 3));
+
+        assertThat(calculator.get(chain), nullValue());
+    }
+
+    private static class Counted {
+        private final int value;
+
+        private Counted(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return "Counted " + value;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import com.github.toy.constructor.core.api.PerformStep;
+import com.github.toy.constructor.core.api.Stoppable;
+import com.github.toy.constructor.core.api.proxy.CreateWith;
+import com.github.toy.constructor.core.api.proxy.ProviderOfEmptyParameters;
+import com.github.toy.constructor.core.api.proxy.TestScope;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.toy.constructor.core.api.StoryWriter.action;
+import static com.github.toy.constructor.core.api.proxy.ConstructorParameters.params;
+import static com.github.toy.constructor.core.api.proxy.InstanceScope.PER_TEST;
+import static com.github.toy.constructor.core.api.proxy.InstanceScope.POOLED;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static com.github.toy.constructor.core.api.proxy.Substitution.release;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.testng.Assert.fail;
+
+public class InstanceScopeTest {
+
+    private static final int TASK_COUNT = 40;
+
+    @Test
+    public void perThreadReleaseTest() throws Exception {
+        ScopedStep step = getSubstituted(ScopedStep.class, params());
+        Set<ScopedStep> used = ConcurrentHashMap.newKeySet();
+
+        step.perform(action("Remember the instance", used::add));
+        step.perform(action("Remember the instance", used::add));
+        assertThat(used, hasSize(1));
+        ScopedStep released = used.iterator().next();
+
+        release(step);
+        assertThat(released.shutDownCount.get(), is(1));
+
+        step.perform(action("Remember the instance", used::add));
+        assertThat(used, hasSize(2));
+    }
+
+    @Test
+    public void perTestTest() throws Exception {
+        ScopedStep step = getSubstituted(ScopedStep.class, params(), aClass -> aClass, t -> t, List.of(),
+                PER_TEST, 1);
+        try {
+            step.perform(action("Out of the scope", scopedStep -> {}));
+            fail("The exception throwing was expected");
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is(ScopedStep.class.getName() + " should be used within some open "
+                    + TestScope.class.getName()));
+        }
+
+        ExecutorService executor = newFixedThreadPool(4);
+        try {
+            Set<ScopedStep> firstTest = ConcurrentHashMap.newKeySet();
+            Set<ScopedStep> secondTest = ConcurrentHashMap.newKeySet();
+            for (Set<ScopedStep> used : List.of(firstTest, secondTest)) {
+                try (TestScope scope = TestScope.open()) {
+                    for (Future<?> future : executor.invokeAll(List.of(
+                            scope.wrap(() -> step.perform(action("Remember the instance", used::add))),
+                            scope.wrap(() -> step.perform(action("Remember the instance", used::add)))))) {
+                        future.get();
+                    }
+                }
+            }
+
+            assertThat(firstTest, hasSize(1));
+            assertThat(secondTest, hasSize(1));
+            assertThat(firstTest, not(secondTest));
+            assertThat(firstTest.iterator().next().shutDownCount.get(), is(1));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void pooledTest() throws Exception {
+        PooledStep step = getSubstituted(PooledStep.class);
+        Set<ScopedStep> used = ConcurrentHashMap.newKeySet();
+        AtomicInteger leased = new AtomicInteger();
+        AtomicInteger maxLeased = new AtomicInteger();
+
+        ExecutorService executor = newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[TASK_COUNT];
+            for (int i = 0; i < TASK_COUNT; i++) {
+                futures[i] = executor.submit(() -> {
+                    TestScope scope = TestScope.open();
+                    try {
+                        step.perform(action("Use the leased instance", pooledStep -> {
+                            maxLeased.accumulateAndGet(leased.incrementAndGet(), Math::max);
+                            used.add(pooledStep);
+                            try {
+                                Thread.sleep(1);
+                            }
+                            catch (InterruptedException e) {
+                                throw new RuntimeException(e);
+                            }
+                            leased.decrementAndGet();
+                        }));
+                    }
+                    finally {
+                        scope.close();
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        assertThat(used, hasSize(lessThanOrEqualTo(2)));
+        assertThat(maxLeased.get(), lessThanOrEqualTo(2));
+        used.forEach(scopedStep -> assertThat(scopedStep.shutDownCount.get(), is(0)));
+    }
+
+    @Test
+    public void pooledOutOfScopeTest() throws Exception {
+        ScopedStep step = getSubstituted(ScopedStep.class, params(), aClass -> aClass, t -> t, List.of(),
+                POOLED, 1);
+        try {
+            step.perform(action("Out of the scope", scopedStep -> {}));
+            fail("The exception throwing was expected");
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is(ScopedStep.class.getName() + " should be used within some open "
+                    + TestScope.class.getName()));
+        }
+    }
+
+    @Test
+    public void pooledInstancesOfFinishedThreadsAreReturnedTest() throws Exception {
+        ScopedStep step = getSubstituted(ScopedStep.class, params(), aClass -> aClass, t -> t, List.of(),
+                POOLED, 2);
+        Set<ScopedStep> used = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Thread thread = new Thread(() -> {
+                TestScope scope = TestScope.open();
+                try {
+                    step.perform(action("Remember the instance", used::add));
+                }
+                finally {
+                    scope.close();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads) {
+            thread.join(5_000);
+            assertThat(thread.isAlive(), is(false));
+        }
+        assertThat(used, hasSize(lessThanOrEqualTo(2)));
+    }
+
+    @Test
+    public void nothingIsLeasedByClosedScopeTest() throws Exception {
+        ScopedStep step = getSubstituted(ScopedStep.class, params(), aClass -> aClass, t -> t, List.of(),
+                POOLED, 1);
+        TestScope scope = TestScope.open();
+        Runnable lateTask = scope.wrap((Runnable) () -> step.perform(action("Use the instance", scopedStep -> {})));
+        scope.close();
+
+        try {
+            lateTask.run();
+            fail("The exception throwing was expected");
+        }
+        catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("The " + TestScope.class.getName() + " is already closed"));
+        }
+
+        TestScope another = TestScope.open();
+        try {
+            another.wrap(() -> step.perform(action("The only instance is free", scopedStep -> {}))).call();
+        }
+        finally {
+            another.close();
+        }
+    }
+
+    @Test
+    public void waitingForPoolDoesNotBlockScopeTest() throws Exception {
+        ScopedStep pooled = getSubstituted(ScopedStep.class, params(), aClass -> aClass, t -> t, List.of(),
+                POOLED, 1);
+        ScopedStep perTest = getSubstituted(ScopedStep.class, params(), aClass -> aClass, t -> t, List.of(),
+                PER_TEST, 1);
+
+        ExecutorService executor = newFixedThreadPool(2);
+        TestScope holder = TestScope.open();
+        try {
+            pooled.perform(action("Lease the only instance", scopedStep -> {}));
+            TestScope scope = TestScope.open();
+            Future<?> waitingForPool = executor.submit(scope.wrap(() ->
+                    pooled.perform(action("Wait for the leased instance", scopedStep -> {}))));
+            try {
+                Thread.sleep(100);
+                executor.submit(scope.wrap(() -> perTest.perform(action("Use another instance",
+                        scopedStep -> {})))).get(5, SECONDS);
+                assertThat(waitingForPool.isDone(), is(false));
+            }
+            finally {
+                waitingForPool.cancel(true);
+                scope.close();
+            }
+        }
+        finally {
+            holder.close();
+            executor.shutdownNow();
+        }
+    }
+
+    public static class ScopedStep implements PerformStep<ScopedStep>, Stoppable {
+
+        private final AtomicInteger shutDownCount = new AtomicInteger();
+
+        public ScopedStep() {
+            super();
+        }
+
+        @Override
+        public void shutDown() {
+            shutDownCount.incrementAndGet();
+        }
+    }
+
+    @CreateWith(provider = ProviderOfEmptyParameters.class, scope = POOLED, poolSize = 2)
+    public static class PooledStep extends ScopedStep {
+
+        public PooledStep() {
+            super();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import org.testng.annotations.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import static com.github.toy.constructor.core.api.StoryWriter.action;
+import static com.github.toy.constructor.core.api.proxy.ConstructorParameters.params;
+import static com.github.toy.constructor.core.api.proxy.LoggerRegistry.reload;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class LoggerRegistryTest {
+
+    @Test
+    public void spiLoggersAreFoundOnceTest() throws Exception {
+        getSubstituted(CalculatorSteps.class, params(), List.of(new DefaultListLogger()));
+        SPIListLogger spiListLogger = SPIListLogger.getLogger();
+
+        getSubstituted(CalculatorSteps.class, params(), List.of(new DefaultListLogger()));
+        getSubstituted(CalculatorSteps.class, params(), List.of(new DefaultListLogger(), new DefaultListLogger()));
+        assertThat(SPIListLogger.getLogger(), sameInstance(spiListLogger));
+    }
+
+    @Test(dependsOnMethods = "spiLoggersAreFoundOnceTest")
+    public void reloadTest() throws Exception {
+        getSubstituted(CalculatorSteps.class, params(), List.of(new DefaultListLogger()));
+        SPIListLogger before = SPIListLogger.getLogger();
+
+        reload();
+        DefaultListLogger logger = new DefaultListLogger();
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params(), List.of(logger));
+        SPIListLogger after = SPIListLogger.getLogger();
+        assertThat(after, not(sameInstance(before)));
+
+        calculator.perform(action("After reload", calculatorSteps -> {}));
+        assertThat(logger.messages, contains("Perform: After reload"));
+        assertThat(after.messages, contains("SPI:Perform: After reload"));
+    }
+
+    @Test
+    public void additionalLoggersAreNotRetainedTest() throws Exception {
+        DefaultListLogger logger = new DefaultListLogger();
+        WeakReference<DefaultListLogger> reference = new WeakReference<>(logger);
+        Thread thread = new Thread(() -> {
+            try {
+                getSubstituted(CalculatorSteps.class, params(), List.of(reference.get()))
+                        .perform(action("Action", calculatorSteps -> {}));
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(logger.messages, contains("Perform: Action"));
+
+        logger = null;
+        for (int i = 0; i < 20 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertThat(reference.get(), nullValue());
+    }
+}
@@ -0,0 +1,83 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import com.github.toy.constructor.core.api.proxy.Logger;
+import com.github.toy.constructor.core.api.proxy.StepEvent;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.github.toy.constructor.core.api.StoryWriter.action;
+import static com.github.toy.constructor.core.api.proxy.ConstructorParameters.params;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.testng.Assert.fail;
+
+public class StepEventTest {
+
+    @Test
+    public void structuredLoggerTest() throws Exception {
+        StructuredLogger logger = new StructuredLogger();
+        AtomicInteger descriptionCount = new AtomicInteger();
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params(), List.of(logger));
+
+        long before = System.nanoTime();
+        try {
+            calculator.perform(new Consumer<>() {
+                @Override
+                public void accept(CalculatorSteps calculatorSteps) {
+                }
+
+                @Override
+                public String toString() {
+                    descriptionCount.incrementAndGet();
+                    return "Not described action";
+                }
+            });
+            fail("The exception throwing was expected");
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("Action should be described by the StoryWriter.action method."));
+        }
+
+        assertThat(logger.events, hasSize(1));
+        StepEvent event = logger.events.get(0);
+        assertThat(event.getConstantMessagePart(), is("Perform:"));
+        assertThat(event.getArgs(), arrayWithSize(1));
+        assertThat(event.getThread(), is(Thread.currentThread()));
+        assertThat(event.getNanoTime(), greaterThanOrEqualTo(before));
+        assertThat(event.getMessage(), is("Perform: Not described action"));
+        assertThat("The text message is built once. It is asked by the SPI logger only",
+                descriptionCount.get(), is(1));
+    }
+
+    @Test
+    public void textLoggerTest() throws Exception {
+        DefaultListLogger logger = new DefaultListLogger();
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params(), List.of(logger));
+        calculator.perform(action("Something", calculatorSteps -> {}));
+
+        assertThat(logger.messages, contains("Perform: Something"));
+    }
+
+    private static class StructuredLogger implements Logger {
+        private final List<StepEvent> events = new ArrayList<>();
+
+        @Override
+        public void log(String message) {
+            throw new UnsupportedOperationException(message);
+        }
+
+        @Override
+        public void log(StepEvent event) {
+            events.add(event);
+        }
+    }
+}
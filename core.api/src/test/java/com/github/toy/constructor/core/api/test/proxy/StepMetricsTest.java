@@ -0,0 +1,132 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import com.github.toy.constructor.core.api.proxy.StepStatistics;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.util.List;
+
+import static com.github.toy.constructor.core.api.StoryWriter.action;
+import static com.github.toy.constructor.core.api.StoryWriter.toGet;
+import static com.github.toy.constructor.core.api.proxy.ConstructorParameters.params;
+import static com.github.toy.constructor.core.api.proxy.StepMetrics.OBJECT_NAME;
+import static com.github.toy.constructor.core.api.proxy.StepMetrics.getStatistics;
+import static com.github.toy.constructor.core.api.proxy.StepMetrics.reset;
+import static com.github.toy.constructor.core.api.proxy.StepMetrics.setEnabled;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.testng.Assert.fail;
+
+public class StepMetricsTest {
+
+    private static final String GET = CalculatorSteps.class.getName() + ".get";
+    private static final String LOG = CalculatorSteps.class.getName() + ".log";
+    private static final String PERFORM = CalculatorSteps.class.getName() + ".perform";
+
+    @BeforeClass
+    public void beforeAll() {
+        reset();
+        setEnabled(true);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterAll() {
+        setEnabled(false);
+        reset();
+    }
+
+    private static StepStatistics getStatisticsOf(String method, String description) {
+        List<StepStatistics> found = getStatistics().stream()
+                .filter(statistics -> statistics.getMethod().equals(method)
+                        && statistics.getDescription().equals(description))
+                .collect(toList());
+        assertThat(found, hasSize(1));
+        return found.get(0);
+    }
+
+    @Test
+    public void latencyTest() throws Exception {
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params());
+        for (int i = 0; i < 10; i++) {
+            calculator.get(toGet("Slow step", calculatorSteps -> {
+                try {
+                    Thread.sleep(10);
+                }
+                catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return 1;
+            }));
+        }
+
+        StepStatistics statistics = getStatisticsOf(GET, "Get: Slow step");
+        assertThat(statistics.getCount(), is(10L));
+        assertThat(statistics.getP50(), greaterThanOrEqualTo(10_000_000L));
+        assertThat(statistics.getP50(), lessThanOrEqualTo(statistics.getP99()));
+        assertThat(statistics.getP99(), lessThanOrEqualTo(statistics.getMax()));
+    }
+
+    @Test
+    public void failedStepTest() throws Exception {
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params());
+        try {
+            calculator.perform(action("Failed step", calculatorSteps -> {
+                throw new IllegalStateException("Test exception");
+            }));
+            fail("The exception throwing was expected");
+        }
+        catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("Test exception"));
+        }
+
+        assertThat(getStatisticsOf(PERFORM, "Perform: Failed step").getCount(), is(1L));
+    }
+
+    @Test(dependsOnMethods = "latencyTest")
+    public void jmxTest() throws Exception {
+        CompositeData[] data = (CompositeData[]) getPlatformMBeanServer()
+                .getAttribute(new ObjectName(OBJECT_NAME), "Statistics");
+
+        List<String> descriptions = stream(data)
+                .map(StepStatistics::from)
+                .map(StepStatistics::getDescription)
+                .collect(toList());
+        assertThat(descriptions, hasItem("Get: Slow step"));
+    }
+
+    @Test
+    public void returnedValuesAreNotDescribedTest() throws Exception {
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params());
+        calculator.get(toGet("One", calculatorSteps -> 1));
+        calculator.get(toGet("Two", calculatorSteps -> 2));
+
+        assertThat(getStatistics().stream()
+                .filter(statistics -> statistics.getMethod().equals(LOG))
+                .map(StepStatistics::getDescription)
+                .collect(toList()), contains("Returned value:"));
+    }
+
+    @Test(dependsOnMethods = {"latencyTest", "failedStepTest", "jmxTest", "returnedValuesAreNotDescribedTest"})
+    public void countOfDescriptionsIsLimitedTest() throws Exception {
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params());
+        for (int i = 0; i < 600; i++) {
+            calculator.get(toGet("Value " + i, calculatorSteps -> 1));
+        }
+
+        assertThat(getStatistics(), hasSize(lessThanOrEqualTo(501)));
+        assertThat(getStatisticsOf(GET, "other").getCount(), greaterThanOrEqualTo(100L));
+        assertThat(getStatisticsOf(GET, "Get: Slow step").getCount(), is(10L));
+    }
+}
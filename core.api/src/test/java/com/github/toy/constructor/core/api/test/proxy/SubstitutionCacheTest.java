@@ -0,0 +1,41 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static com.github.toy.constructor.core.api.StoryWriter.action;
+import static com.github.toy.constructor.core.api.proxy.ConstructorParameters.params;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class SubstitutionCacheTest {
+
+    @Test
+    public void substitutedClassIsReusedTest() throws Exception {
+        CalculatorSteps calculator1 = getSubstituted(CalculatorSteps.class, params());
+        CalculatorSteps calculator2 = getSubstituted(CalculatorSteps.class, params());
+
+        assertThat("Substituted instances", calculator1, not(sameInstance(calculator2)));
+        assertThat("Class of substituted instances", calculator1.getClass(), equalTo(calculator2.getClass()));
+    }
+
+    @Test
+    public void substitutedInstanceIsReturnedTest() throws Exception {
+        CalculatorSteps calculator = getSubstituted(CalculatorSteps.class, params());
+
+        assertThat("Instance returned after the performing of steps",
+                calculator.perform(action("Something", calculatorSteps -> {})), sameInstance(calculator));
+    }
+
+    @Test
+    public void substitutedClassDoesNotDependOnLoggersTest() throws Exception {
+        CalculatorSteps calculator1 = getSubstituted(CalculatorSteps.class, params(), List.of(new DefaultListLogger()));
+        CalculatorSteps calculator2 = getSubstituted(CalculatorSteps.class, params(), List.of(new DefaultListLogger()));
+
+        assertThat("Class of substituted instances", calculator1.getClass(), equalTo(calculator2.getClass()));
+    }
+}
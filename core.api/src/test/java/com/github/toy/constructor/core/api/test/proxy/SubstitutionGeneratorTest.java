@@ -0,0 +1,98 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import com.github.toy.constructor.core.api.PerformStep;
+import com.github.toy.constructor.core.api.proxy.CreateWith;
+import com.github.toy.constructor.core.api.proxy.ProviderOfEmptyParameters;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.github.toy.constructor.core.api.StoryWriter.action;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static com.github.toy.constructor.core.api.proxy.SubstitutionGenerator.generate;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class SubstitutionGeneratorTest {
+
+    private static final String PREGENERATED = PregeneratedStep.class.getName() + "$$Substitution";
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static <T extends PerformStep<T>> void checkPregenerated(Class<T> clazz) throws Exception {
+        T step = getSubstituted(clazz);
+        assertThat(step.getClass().getName(), is(PREGENERATED));
+        assertThat(step.getClass().getClassLoader(), is(clazz.getClassLoader()));
+
+        List<String> performed = new ArrayList<>();
+        assertThat(step.perform(action("Pregenerated action", pregeneratedStep ->
+                performed.add(pregeneratedStep.getClass().getName()))), sameInstance(step));
+        assertThat(performed, contains(PREGENERATED));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"}) //the isolated step class is the copy of PregeneratedStep
+    public void pregeneratedClassTest() throws Exception {
+        Path output = Files.createTempDirectory("substitutions");
+        Path classes = Paths.get(PregeneratedStep.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (IsolatingClassLoader classLoader = new IsolatingClassLoader(output.toUri().toURL(),
+                classes.toUri().toURL())) {
+            assertThat(generate(output, List.of(PregeneratedStep.class, String.class)), contains(PREGENERATED));
+            assertThat(Files.exists(output.resolve(PREGENERATED.replace('.', '/') + ".class")), is(true));
+            assertThat(Files.exists(classes.resolve(PREGENERATED.replace('.', '/') + ".class")), is(false));
+
+            checkPregenerated((Class) classLoader.loadClass(PregeneratedStep.class.getName()));
+        }
+        finally {
+            delete(output);
+        }
+    }
+
+    /**
+     * Loads the step class and its pregenerated subclass by itself. So classes which are generated by the test
+     * are not visible to other tests.
+     */
+    private static final class IsolatingClassLoader extends URLClassLoader {
+
+        private IsolatingClassLoader(URL... urls) {
+            super(urls, SubstitutionGeneratorTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PregeneratedStep.class.getName())) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                return loaded == null ? findClass(name) : loaded;
+            }
+        }
+    }
+
+    @CreateWith(provider = ProviderOfEmptyParameters.class)
+    public static class PregeneratedStep implements PerformStep<PregeneratedStep> {
+
+        public PregeneratedStep() {
+            super();
+        }
+    }
+}
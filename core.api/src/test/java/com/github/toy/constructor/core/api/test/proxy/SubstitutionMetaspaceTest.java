@@ -0,0 +1,95 @@
+package com.github.toy.constructor.core.api.test.proxy;
+
+import com.github.toy.constructor.core.api.GetStep;
+import com.github.toy.constructor.core.api.PerformStep;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import static com.github.toy.constructor.core.api.StoryWriter.action;
+import static com.github.toy.constructor.core.api.proxy.ConstructorParameters.params;
+import static com.github.toy.constructor.core.api.proxy.Substitution.getSubstituted;
+import static com.github.toy.constructor.core.api.proxy.SubstitutionFlagProperties.UNLOADABLE_SUBSTITUTED_CLASSES;
+import static java.lang.management.ManagementFactory.getClassLoadingMXBean;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class SubstitutionMetaspaceTest {
+
+    private static final int INSTANCE_COUNT = 10_000;
+
+    private static boolean isCleared(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return reference.get() == null;
+    }
+
+    @BeforeClass
+    public void beforeAll() {
+        UNLOADABLE_SUBSTITUTED_CLASSES.accept("true");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void afterAll() {
+        System.getProperties().remove(UNLOADABLE_SUBSTITUTED_CLASSES.getPropertyName());
+    }
+
+    @Test
+    public void loadedClassCountTest() throws Exception {
+        ClassLoadingMXBean classLoading = getClassLoadingMXBean();
+        getSubstituted(PublicStep.class, params()).getValue();
+        getSubstituted(CalculatorSteps.class, params()).get();
+        long loadedBefore = classLoading.getTotalLoadedClassCount();
+
+        for (int i = 0; i < INSTANCE_COUNT; i++) {
+            getSubstituted(PublicStep.class, params()).getValue();
+            getSubstituted(CalculatorSteps.class, params()).get();
+        }
+
+        assertThat("Count of classes loaded during the substitution",
+                classLoading.getTotalLoadedClassCount() - loadedBefore, lessThan(100L));
+    }
+
+    @Test
+    public void unloadingTest() throws Exception {
+        WeakReference<?>[] references = new WeakReference<?>[1];
+        Thread thread = new Thread(() -> {
+            try {
+                UnloadableStep step = getSubstituted(UnloadableStep.class, params(), List.of(new DefaultListLogger()));
+                references[0] = new WeakReference<>(step.perform(action("Something", unloadableStep -> {})).getClass());
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertThat("Is generated class unloaded", isCleared(references[0]), is(true));
+    }
+
+    public static class PublicStep implements GetStep<PublicStep>, PerformStep<PublicStep> {
+
+        public PublicStep() {
+            super();
+        }
+
+        public int getValue() {
+            return 1;
+        }
+    }
+
+    public static class UnloadableStep implements PerformStep<UnloadableStep> {
+
+        public UnloadableStep() {
+            super();
+        }
+    }
+}
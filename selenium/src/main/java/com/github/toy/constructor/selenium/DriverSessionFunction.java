@@ -0,0 +1,31 @@
+package com.github.toy.constructor.selenium;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.internal.WrapsDriver;
+
+import java.util.function.Function;
+
+/**
+ * Returns the WebDriver which an object belongs to, e.g. the driver of a web element. Objects which don't wrap
+ * a driver are returned as they are. It is used to resolve sessions, see
+ * {@link com.github.toy.constructor.core.api.Sessions}.
+ */
+final class DriverSessionFunction implements Function<Object, Object> {
+
+    DriverSessionFunction() {
+        super();
+    }
+
+    @Override
+    public Object apply(Object o) {
+        Object current = o;
+        while (current instanceof WrapsDriver) {
+            WebDriver driver = ((WrapsDriver) current).getWrappedDriver();
+            if (driver == null || driver == current) {
+                break;
+            }
+            current = driver;
+        }
+        return current;
+    }
+}
@@ -3,6 +3,7 @@ package com.github.toy.constructor.selenium;
 import com.github.toy.constructor.core.api.GetStep;
 import com.github.toy.constructor.core.api.PerformStep;
 import com.github.toy.constructor.core.api.Refreshable;
+import com.github.toy.constructor.core.api.Sessions;
 import com.github.toy.constructor.core.api.Stoppable;
 import com.github.toy.constructor.core.api.proxy.CreateWith;
 import com.github.toy.constructor.selenium.functions.navigation.NavigationActionSupplier;
@@ -26,6 +27,10 @@ import static com.github.toy.constructor.selenium.CurrentContentFunction.current
 public class SeleniumSteps implements PerformStep<SeleniumSteps>, GetStep<SeleniumSteps>, WrapsDriver, Refreshable,
         Stoppable {
 
+    static {
+        Sessions.setResolver(new DriverSessionFunction());
+    }
+
     private final WrappedWebDriver wrappedWebDriver;
 
     public SeleniumSteps(WrappedWebDriver wrappedWebDriver) {
@@ -10,6 +10,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static com.github.toy.constructor.core.api.AsIsPredicate.AS_IS;
+import static com.github.toy.constructor.core.api.AttemptCache.read;
 import static com.github.toy.constructor.core.api.StoryWriter.condition;
 import static com.github.toy.constructor.selenium.properties.FlagProperties.FIND_ONLY_VISIBLE_ELEMENTS_WHEN_NO_CONDITION;
 import static com.google.common.base.Preconditions.checkArgument;
@@ -26,6 +27,30 @@ public final class CommonConditions {
         super();
     }
 
+    /*
+     * Properties of elements are read by AttemptCache, so combined conditions read the same property
+     * once per attempt of the waiting when the cache is turned on.
+     */
+    private static boolean isDisplayed(WebElement webElement) {
+        return read(webElement, "displayed", webElement::isDisplayed);
+    }
+
+    private static boolean isEnabled(WebElement webElement) {
+        return read(webElement, "enabled", webElement::isEnabled);
+    }
+
+    private static String getText(WebElement webElement) {
+        return read(webElement, "text", webElement::getText);
+    }
+
+    private static String getAttribute(WebElement webElement, String attribute) {
+        return read(webElement, format("attribute %s", attribute), () -> webElement.getAttribute(attribute));
+    }
+
+    private static String getCssValue(WebElement webElement, String cssProperty) {
+        return read(webElement, format("css value %s", cssProperty), () -> webElement.getCssValue(cssProperty));
+    }
+
     static Predicate defaultPredicate() {
         if (FIND_ONLY_VISIBLE_ELEMENTS_WHEN_NO_CONDITION.get()) {
             return shouldBeVisible();
@@ -45,7 +70,7 @@ public final class CommonConditions {
         return condition("Should be visible", t -> {
             Class<?> tClass = t.getClass();
             if (WebElement.class.isAssignableFrom(tClass)) {
-                return WebElement.class.cast(t).isDisplayed();
+                return isDisplayed(WebElement.class.cast(t));
             }
 
             if (IsVisible.class.isAssignableFrom(tClass)) {
@@ -54,7 +79,7 @@ public final class CommonConditions {
 
             if (WrapsElement.class.isAssignableFrom(tClass)) {
                 return ofNullable(WrapsElement.class.cast(t).getWrappedElement())
-                        .map(WebElement::isDisplayed)
+                        .map(CommonConditions::isDisplayed)
                         .orElseThrow(() -> new NullPointerException("It was expected that wrapped element differs from null. " +
                                 "It is impossible to get visibility."));
             }
@@ -75,7 +100,7 @@ public final class CommonConditions {
         return condition("Should be enabled", t -> {
             Class<?> tClass = t.getClass();
             if (WebElement.class.isAssignableFrom(tClass)) {
-                return WebElement.class.cast(t).isEnabled();
+                return isEnabled(WebElement.class.cast(t));
             }
 
             if (IsEnabled.class.isAssignableFrom(tClass)) {
@@ -84,7 +109,7 @@ public final class CommonConditions {
 
             if (WrapsElement.class.isAssignableFrom(tClass)) {
                 return ofNullable(WrapsElement.class.cast(t).getWrappedElement())
-                        .map(WebElement::isEnabled)
+                        .map(CommonConditions::isEnabled)
                         .orElseThrow(() -> new NullPointerException("It was expected that wrapped element differs from null. " +
                                 "It is impossible to check is it enable or not."));
             }
@@ -102,8 +127,8 @@ public final class CommonConditions {
     public static  Predicate<WebElement> shouldHaveText(String text) {
         checkArgument(!isBlank(text), "String which is used to check text " +
                 "of an element should not be null or empty. ");
-        return condition(format("Should have text '%s'", text),
-                webElement -> text.equals(webElement.getText()));
+        return condition(() -> format("Should have text '%s'", text),
+                webElement -> text.equals(getText(webElement)));
     }
 
     /**
@@ -112,10 +137,10 @@ public final class CommonConditions {
      */
     public static  Predicate<WebElement> shouldHaveText(Pattern pattern) {
         checkArgument(pattern != null, "RegEx pattern should be defined");
-        return condition(format("Should have text which contains " +
+        return condition(() -> format("Should have text which contains " +
                         "regExp pattern '%s'", pattern),
                 webElement -> {
-                    Matcher m = pattern.matcher(webElement.getText());
+                    Matcher m = pattern.matcher(getText(webElement));
                     return m.find();
                 });
     }
@@ -132,10 +157,10 @@ public final class CommonConditions {
         checkArgument(!isBlank(attribute), "Attribute name should not be empty or null.");
         checkArgument(!isBlank(attrValue), "Attribute value should not be empty or null.");
 
-        return condition(format("Should have attribute '%s=\"%s\"'", attribute, attrValue), t -> {
+        return condition(() -> format("Should have attribute '%s=\"%s\"'", attribute, attrValue), t -> {
             Class<?> tClass = t.getClass();
             if (WebElement.class.isAssignableFrom(tClass)) {
-                return attrValue.equals(WebElement.class.cast(t).getAttribute(attribute));
+                return attrValue.equals(getAttribute(WebElement.class.cast(t), attribute));
             }
 
             if (HasAttribute.class.isAssignableFrom(tClass)) {
@@ -144,7 +169,7 @@ public final class CommonConditions {
 
             if (WrapsElement.class.isAssignableFrom(tClass)) {
                 return ofNullable(WrapsElement.class.cast(t).getWrappedElement())
-                        .map(webElement -> attrValue.equals(webElement.getAttribute(attribute)))
+                        .map(webElement -> attrValue.equals(getAttribute(webElement, attribute)))
                         .orElseThrow(() -> new NullPointerException(format("It was expected that wrapped element differs from null. " +
                                 "It was impossible to value of the attribute %s from the instance of %s", attribute, tClass)));
             }
@@ -168,10 +193,10 @@ public final class CommonConditions {
         checkArgument(!isBlank(attribute), "Attribute name should not be empty or null.");
         checkArgument(!isBlank(attrValue), "Attribute value should not be empty or null.");
 
-        return condition(format("Should have attribute '%s' which contains value '%s'", attribute, attrValue), t -> {
+        return condition(() -> format("Should have attribute '%s' which contains value '%s'", attribute, attrValue), t -> {
             Class<?> tClass = t.getClass();
             if (WebElement.class.isAssignableFrom(tClass)) {
-                return ofNullable(WebElement.class.cast(t).getAttribute(attribute))
+                return ofNullable(getAttribute(WebElement.class.cast(t), attribute))
                         .map(s -> s.contains(attrValue)).orElse(false);
             }
 
@@ -182,7 +207,7 @@ public final class CommonConditions {
 
             if (WrapsElement.class.isAssignableFrom(tClass)) {
                 return ofNullable(WrapsElement.class.cast(t).getWrappedElement())
-                        .map(webElement -> ofNullable(webElement.getAttribute(attribute))
+                        .map(webElement -> ofNullable(getAttribute(webElement, attribute))
                                 .map(s -> s.contains(attrValue))
                                 .orElse(false))
                         .orElseThrow(() -> new NullPointerException(format("It was expected that wrapped element differs from null. " +
@@ -208,11 +233,11 @@ public final class CommonConditions {
         checkArgument(pattern != null, "RegEx pattern of the desired " +
                 "attribute value should be defined.");
 
-        return condition(format("Should have attribute '%s' which matches " +
+        return condition(() -> format("Should have attribute '%s' which matches " +
                 "regExp pattern '%s'", attribute, pattern), t -> {
             Class<?> tClass = t.getClass();
             if (WebElement.class.isAssignableFrom(tClass)) {
-                return ofNullable(WebElement.class.cast(t).getAttribute(attribute))
+                return ofNullable(getAttribute(WebElement.class.cast(t), attribute))
                         .map(s -> {
                             Matcher m = pattern.matcher(s);
                             return m.find();
@@ -229,7 +254,7 @@ public final class CommonConditions {
 
             if (WrapsElement.class.isAssignableFrom(tClass)) {
                 return ofNullable(WrapsElement.class.cast(t).getWrappedElement())
-                        .map(webElement -> ofNullable(webElement.getAttribute(attribute))
+                        .map(webElement -> ofNullable(getAttribute(webElement, attribute))
                                 .map(s -> {
                                     Matcher m = pattern.matcher(s);
                                     return m.find();
@@ -258,10 +283,10 @@ public final class CommonConditions {
         checkArgument(!isBlank(cssProperty), "Css property should not be empty or null.");
         checkArgument(!isBlank(cssValue), "Css value should not be empty or null.");
 
-        return condition(format("Should have css property '%s=\"%s\"'", cssProperty, cssValue), t -> {
+        return condition(() -> format("Should have css property '%s=\"%s\"'", cssProperty, cssValue), t -> {
             Class<?> tClass = t.getClass();
             if (WebElement.class.isAssignableFrom(tClass)) {
-                return cssValue.equals(WebElement.class.cast(t).getCssValue(cssProperty));
+                return cssValue.equals(getCssValue(WebElement.class.cast(t), cssProperty));
             }
 
             if (HasCssValue.class.isAssignableFrom(tClass)) {
@@ -270,7 +295,7 @@ public final class CommonConditions {
 
             if (WrapsElement.class.isAssignableFrom(tClass)) {
                 return ofNullable(WrapsElement.class.cast(t).getWrappedElement())
-                        .map(webElement -> cssValue.equals(webElement.getCssValue(cssProperty)))
+                        .map(webElement -> cssValue.equals(getCssValue(webElement, cssProperty)))
                         .orElseThrow(() -> new NullPointerException(format("It was expected that wrapped element differs from null. " +
                                 "It was impossible to value of the css property %s from the instance of %s", cssProperty, tClass)));
             }
@@ -294,10 +319,10 @@ public final class CommonConditions {
         checkArgument(!isBlank(cssProperty), "Css property should not be empty or null.");
         checkArgument(!isBlank(cssValue), "Css value should not be empty or null.");
 
-        return condition(format("Should have css property  '%s' which contains value '%s'", cssProperty, cssValue), t -> {
+        return condition(() -> format("Should have css property  '%s' which contains value '%s'", cssProperty, cssValue), t -> {
             Class<?> tClass = t.getClass();
             if (WebElement.class.isAssignableFrom(tClass)) {
-                return ofNullable(WebElement.class.cast(t).getCssValue(cssProperty))
+                return ofNullable(getCssValue(WebElement.class.cast(t), cssProperty))
                         .map(s -> s.contains(cssValue)).orElse(false);
             }
 
@@ -308,7 +333,7 @@ public final class CommonConditions {
 
             if (WrapsElement.class.isAssignableFrom(tClass)) {
                 return ofNullable(WrapsElement.class.cast(t).getWrappedElement())
-                        .map(webElement -> ofNullable(webElement.getCssValue(cssProperty))
+                        .map(webElement -> ofNullable(getCssValue(webElement, cssProperty))
                                 .map(s -> s.contains(cssValue))
                                 .orElse(false))
                         .orElseThrow(() -> new NullPointerException(format("It was expected that wrapped element differs from null. " +
@@ -335,11 +360,11 @@ public final class CommonConditions {
         checkArgument(pattern != null, "RegEx pattern of the desired " +
                 "css value should be defined.");
 
-        return condition(format("Should have css property '%s' which matches " +
+        return condition(() -> format("Should have css property '%s' which matches " +
                 "regExp pattern '%s'", cssProperty, pattern), t -> {
             Class<?> tClass = t.getClass();
             if (WebElement.class.isAssignableFrom(tClass)) {
-                return ofNullable(WebElement.class.cast(t).getCssValue(cssProperty))
+                return ofNullable(getCssValue(WebElement.class.cast(t), cssProperty))
                         .map(s -> {
                             Matcher m = pattern.matcher(s);
                             return m.find();
@@ -356,7 +381,7 @@ public final class CommonConditions {
 
             if (WrapsElement.class.isAssignableFrom(tClass)) {
                 return ofNullable(WrapsElement.class.cast(t).getWrappedElement())
-                        .map(webElement -> ofNullable(webElement.getCssValue(cssProperty))
+                        .map(webElement -> ofNullable(getCssValue(webElement, cssProperty))
                                 .map(s -> {
                                     Matcher m = pattern.matcher(s);
                                     return m.find();
@@ -379,7 +404,7 @@ public final class CommonConditions {
      */
     public static <T extends SearchContext> Predicate<T> shouldContainElements(MultipleSearchSupplier<?> howToFind) {
         checkArgument(howToFind != null, "The way how to find nested elements should be defined");
-        return condition(format("Should have nested %s", howToFind), t -> howToFind.get().apply(t).size() > 0);
+        return condition(() -> format("Should have nested %s", howToFind), t -> howToFind.get().apply(t).size() > 0);
     }
 
     /**
@@ -391,7 +416,7 @@ public final class CommonConditions {
     public static <T extends SearchContext> Predicate<T> shouldContainElements(MultipleSearchSupplier<?> howToFind, int expected) {
         checkArgument(howToFind != null, "The way how to find nested elements should be defined");
         checkArgument(expected >=0 , "Count of expected nested elements can't be a negative value.");
-        return condition(format("Should have %s nested %s", expected, howToFind),
+        return condition(() -> format("Should have %s nested %s", expected, howToFind),
                 t -> howToFind.get().apply(t).size() == expected);
     }
 
@@ -404,7 +429,7 @@ public final class CommonConditions {
     public static  <T extends SearchContext & Labeled> Predicate<T> shouldBeLabeledBy(String...labels) {
         checkNotNull(labels);
         checkArgument(labels.length > 0, "At least one label should be defined");
-        return condition(format("Should have string label(s) %s", Arrays.toString(labels)),
+        return condition(() -> format("Should have string label(s) %s", Arrays.toString(labels)),
                 t -> t.labels().containsAll(asList(labels)));
     }
 }